@@ -0,0 +1,197 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AnalyticsRollups.java - Pre-aggregated Analytics
+ *
+ * Hourly and daily counts for the admin analytics dashboard, kept in the
+ * analytics_rollups table so charts never scan the raw tables:
+ *
+ *   new_users          users by created_at
+ *   logins             user_sessions by login_time
+ *   applications       applications by applied_at, per current status
+ *   contact_messages   contact messages by created_at, per current status
+ *   jobs_by_location   job postings by created_at, per location
+ *   jobs_by_company    job postings by created_at, per company
+ *
+ * A scheduled compaction recomputes every bucket of the last few days from
+ * the raw rows (range scans on the indexed time columns) in one transaction.
+ * Older buckets are frozen, so a status that changes after the lookback
+ * window is not reflected in them. Hourly buckets are dropped after the
+ * retention period; daily buckets are kept.
+ *
+ *   -Djoblisting.analytics.intervalMinutes=5
+ *   -Djoblisting.analytics.lookbackDays=7
+ *   -Djoblisting.analytics.hourlyRetentionDays=30
+ */
+public class AnalyticsRollups {
+
+    public static final String HOURLY = "H";
+    public static final String DAILY = "D";
+
+    // metric, source table, time column, dimension
+    private static final String[][] SOURCES = {
+        {"new_users", "users", "created_at", "''"},
+        {"logins", "user_sessions", "login_time", "''"},
+        {"applications", "applications", "applied_at", "COALESCE(status, '')"},
+        {"contact_messages", "contact_messages", "created_at", "COALESCE(status, '')"},
+        {"jobs_by_location", "jobs", "created_at", "COALESCE(location, '')"},
+        {"jobs_by_company", "jobs", "created_at", "COALESCE(company, '')"}
+    };
+
+    private final DatabaseManager dbManager;
+    private final int lookbackDays;
+    private final int hourlyRetentionDays;
+    private ScheduledExecutorService scheduler;
+
+    public AnalyticsRollups(DatabaseManager dbManager, int lookbackDays, int hourlyRetentionDays) {
+        this.dbManager = dbManager;
+        this.lookbackDays = lookbackDays;
+        this.hourlyRetentionDays = hourlyRetentionDays;
+    }
+
+    public synchronized void start(long intervalMinutes) {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "analytics-rollups");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                compact();
+            } catch (SQLException e) {
+                System.err.println("Error compacting analytics rollups: " + e.getMessage());
+            }
+        }, 1, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Recomputes the buckets of the lookback window. Returns the number of rollup rows written.
+     */
+    public int compact() throws SQLException {
+        Timestamp from = Timestamp.valueOf(LocalDate.now().minusDays(lookbackDays).atStartOfDay());
+        try (Connection conn = dbManager.openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int rows = compact(conn, from, hourlyRetentionDays);
+                conn.commit();
+                return rows;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Replaces every bucket starting at or after from (a midnight) with counts from the
+     * raw tables and drops expired hourly buckets. Call inside a transaction.
+     */
+    static int compact(Connection conn, Timestamp from, int hourlyRetentionDays) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM analytics_rollups WHERE bucket_start >= ? OR (granularity = ? AND bucket_start < ?)")) {
+            ps.setTimestamp(1, from);
+            ps.setString(2, HOURLY);
+            ps.setTimestamp(3, Timestamp.valueOf(LocalDate.now().minusDays(hourlyRetentionDays).atStartOfDay()));
+            ps.executeUpdate();
+        }
+        int rows = 0;
+        for (String[] source : SOURCES) {
+            for (String granularity : new String[]{HOURLY, DAILY}) {
+                String bucket = "DATE_TRUNC('" + (HOURLY.equals(granularity) ? "HOUR" : "DAY") + "', " + source[2] + ")";
+                try (PreparedStatement ps = conn.prepareStatement(
+                        "INSERT INTO analytics_rollups (granularity, bucket_start, metric, dimension, total) " +
+                        "SELECT ?, " + bucket + ", ?, " + source[3] + ", COUNT(*) FROM " + source[1] +
+                        " WHERE " + source[2] + " >= ? GROUP BY " + bucket +
+                        ("''".equals(source[3]) ? "" : ", " + source[3]))) {
+                    ps.setString(1, granularity);
+                    ps.setString(2, source[0]);
+                    ps.setTimestamp(3, from);
+                    rows += ps.executeUpdate();
+                }
+            }
+        }
+        return rows;
+    }
+
+    // ============== READING ==============
+
+    /**
+     * Counts per bucket, summed over dimensions, for that many consecutive buckets
+     * starting at from (an hour or day start). Empty buckets are 0.
+     */
+    static int[] series(Connection conn, String metric, String granularity, Timestamp from, int buckets)
+            throws SQLException {
+        int[] counts = new int[buckets];
+        LocalDateTime start = from.toLocalDateTime();
+        ChronoUnit unit = HOURLY.equals(granularity) ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT bucket_start, SUM(total) FROM analytics_rollups " +
+                "WHERE granularity = ? AND metric = ? AND bucket_start >= ? GROUP BY bucket_start")) {
+            ps.setString(1, granularity);
+            ps.setString(2, metric);
+            ps.setTimestamp(3, from);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    long index = unit.between(start, rs.getTimestamp(1).toLocalDateTime());
+                    if (index >= 0 && index < buckets) {
+                        counts[(int) index] += rs.getInt(2);
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Totals per dimension since from, largest first, at most limit entries.
+     */
+    static Map<String, Integer> totals(Connection conn, String metric, String granularity, Timestamp from, int limit)
+            throws SQLException {
+        Map<String, Integer> totals = new LinkedHashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT dimension, SUM(total) FROM analytics_rollups " +
+                "WHERE granularity = ? AND metric = ? AND bucket_start >= ? " +
+                "GROUP BY dimension ORDER BY 2 DESC, dimension LIMIT ?")) {
+            ps.setString(1, granularity);
+            ps.setString(2, metric);
+            ps.setTimestamp(3, from);
+            ps.setInt(4, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    totals.put(rs.getString(1), rs.getInt(2));
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * When rollup rows were last written, or null if there are none.
+     */
+    static Timestamp lastCompacted(Connection conn) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT MAX(computed_at) FROM analytics_rollups");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getTimestamp(1) : null;
+        }
+    }
+}
@@ -0,0 +1,610 @@
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApiServer.java - Headless HTTP API
+ *
+ * JSON API over DatabaseManager on the JDK's built-in HTTP server, so many
+ * clients can share one backend without the Swing UI. Requests use HTTP
+ * Basic auth with the portal's user accounts. Customers only see their own
+ * applications, notifications, resume and messages; admins see everything.
+ *
+ * GET  /api/jobs                       ?page=1&size=50
+ * GET  /api/jobs/{id}
+ * GET  /api/applications               POST to apply
+ * GET  /api/notifications              ?before=<id> pages older ones
+ * POST /api/notifications/read         mark all as read
+ * GET  /api/resume                     PUT to save
+ * GET  /api/contact-messages           POST to send
+ *
+ * List responses are {"page", "size", "total", "items"}. GET responses carry
+ * an ETag and honour If-None-Match; bodies over 1 KB are gzipped when the
+ * client accepts it. Job responses are cached pre-serialized (see cachedJobs).
+ * Each request runs on a virtual thread when available.
+ *
+ * Compile: javac -cp ".;h2-2.2.224.jar" *.java
+ * Run: java -cp ".;h2-2.2.224.jar" ApiServer
+ *   -Djoblisting.api.host=127.0.0.1  -Djoblisting.api.port=8080
+ */
+public class ApiServer {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int GZIP_MIN_BYTES = 1024;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final long AUTH_CACHE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    // (page - 1) * MAX_PAGE_SIZE must fit in an int
+    private static final int MAX_PAGE = Integer.MAX_VALUE / MAX_PAGE_SIZE;
+
+    // JSON field names for the DatabaseManager row arrays
+    private static final String[] JOB_FIELDS = {"id", "title", "company", "location", "salary", "description"};
+    private static final String[] APPLICATION_FIELDS = {"id", "username", "jobTitle", "company", "applicantName",
+        "email", "phone", "hasCoverLetter", "status", "appliedAt", "jobId"};
+    private static final String[] USER_APPLICATION_FIELDS = {"id", "jobTitle", "company", "applicantName",
+        "email", "status", "appliedAt", "jobId"};
+    private static final String[] NOTIFICATION_FIELDS = {"id", "jobTitle", "message", "status", "isRead", "createdAt"};
+    private static final String[] RESUME_FIELDS = {"fullName", "email", "phone", "address", "education",
+        "experience", "skills", "summary"};
+    private static final String[] MESSAGE_FIELDS = {"id", "username", "subject", "message", "email", "phone",
+        "status", "isRead", "adminResponse", "createdAt"};
+    private static final String[] USER_MESSAGE_FIELDS = {"id", "subject", "message", "status", "adminResponse",
+        "createdAt"};
+
+    private final DatabaseManager db;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    // Serialized job pages and details, valid while the jobs version is unchanged
+    private final ResponseCache jobCache = new ResponseCache(
+        Integer.getInteger("joblisting.api.jobCacheEntries", 512), GZIP_MIN_BYTES);
+
+    // Verified credentials by username, so PBKDF2 runs once per user every few minutes.
+    // An entry only counts while the stored hash it was verified against is unchanged,
+    // so password changes and deleted users take effect at once.
+    private final Map<String, CachedLogin> logins = new ConcurrentHashMap<>();
+    private final byte[] digestSalt = new SecureRandom().generateSeed(16);
+
+    private static class CachedLogin {
+        final byte[] passwordDigest;
+        final String storedHash;
+        final long expiresAt;
+
+        CachedLogin(byte[] passwordDigest, String storedHash, long expiresAt) {
+            this.passwordDigest = passwordDigest;
+            this.storedHash = storedHash;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /** Request state passed to endpoint handlers. */
+    private static class Request {
+        final HttpExchange exchange;
+        final String username;
+        final String role;
+        final Map<String, String> query;
+
+        Request(HttpExchange exchange, String username, String role, Map<String, String> query) {
+            this.exchange = exchange;
+            this.username = username;
+            this.role = role;
+            this.query = query;
+        }
+
+        boolean isAdmin() {
+            return "Admin".equalsIgnoreCase(role);
+        }
+    }
+
+    /** Handler result that is answered with 201 Created. */
+    private static class Created {
+        final Object body;
+
+        Created(Object body) {
+            this.body = body;
+        }
+    }
+
+    /** Handler result for a conditional GET the client already has. */
+    private static class NotModified {
+        final String etag;
+
+        NotModified(String etag) {
+            this.etag = etag;
+        }
+    }
+
+    private interface JsonBuilder {
+        Object build() throws Exception;
+    }
+
+    private interface Handler {
+        Object handle(Request request) throws Exception;
+    }
+
+    /** An error with an HTTP status, reported to the client as {"error": message}. */
+    private static class ApiException extends Exception {
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    public ApiServer(DatabaseManager db, String host, int port) throws IOException {
+        this.db = db;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+        this.executor = newRequestExecutor();
+        server.setExecutor(executor);
+
+        route("/api/jobs", Map.of("GET", this::listJobs));
+        route("/api/jobs/", Map.of("GET", this::getJob), false);
+        route("/api/applications", Map.of("GET", this::listApplications, "POST", this::apply));
+        route("/api/applications/", Map.of("GET", this::getCoverLetter), false);
+        route("/api/notifications", Map.of("GET", this::listNotifications));
+        route("/api/notifications/read", Map.of("POST", this::markNotificationsRead));
+        route("/api/resume", Map.of("GET", this::getResume, "PUT", this::saveResume));
+        route("/api/contact-messages", Map.of("GET", this::listContactMessages, "POST", this::sendContactMessage));
+    }
+
+    public void start() {
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        System.out.println("✓ API listening on http://" + address.getHostString() + ":" + address.getPort() + "/api");
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatabaseManager db = DatabaseManager.getInstance();
+        if (!db.isConnected()) {
+            System.err.println("Could not open the database.");
+            return;
+        }
+        ApiServer api = new ApiServer(db,
+            System.getProperty("joblisting.api.host", "127.0.0.1"),
+            Integer.getInteger("joblisting.api.port", 8080));
+        Runtime.getRuntime().addShutdownHook(new Thread(api::stop, "api-shutdown"));
+        api.start();
+    }
+
+    /**
+     * One virtual thread per request on Java 21+, otherwise a fixed pool. The read paths
+     * borrow pooled connections instead of locking the shared one, so requests wait on
+     * the pool (at most joblisting.db.poolSize queries at once) without pinning carriers.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Integer.getInteger("joblisting.api.threads", 200);
+            System.out.println("Virtual threads not available; serving requests on " + threads + " threads");
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    // ============== ENDPOINTS ==============
+
+    private Object listJobs(Request r) throws Exception {
+        int size = pageSize(r);
+        int page = page(r);
+        return cachedJobs(r, "page-" + page + "-" + size, () -> {
+            List<Object> items = new ArrayList<>();
+            for (String[] job : db.getJobsPage((page - 1) * size, size)) {
+                items.add(row(JOB_FIELDS, job));
+            }
+            return pageOf(page, size, db.getJobCount(), items);
+        });
+    }
+
+    private Object getJob(Request r) throws Exception {
+        String path = r.exchange.getRequestURI().getPath();
+        int id = parseInt(path.substring("/api/jobs/".length()), "job id");
+        return cachedJobs(r, "job-" + id, () -> {
+            String[] job = db.getJob(id);
+            if (job == null) throw new ApiException(404, "Job not found.");
+            return row(JOB_FIELDS, job);
+        });
+    }
+
+    /**
+     * Job responses are versioned by the jobs table version: a client that
+     * already holds the current version gets a 304 without any database or
+     * serialization work, and everyone else gets cached bytes until a job changes.
+     */
+    private Object cachedJobs(Request r, String key, JsonBuilder builder) throws Exception {
+        long version = db.getJobsVersion();
+        String etag = "W/\"jobs-" + version + "-" + key + "\"";
+        if (clientHas(r.exchange, etag)) {
+            return new NotModified(etag);
+        }
+        ResponseCache.Entry entry = jobCache.get(key, version);
+        if (entry == null) {
+            // Tagged with the version read before the query, so a concurrent write only causes a rebuild
+            entry = jobCache.put(key, version, etag, Json.write(builder.build()).getBytes(StandardCharsets.UTF_8));
+        }
+        return entry;
+    }
+
+    private Object listApplications(Request r) throws Exception {
+        int size = pageSize(r);
+        int page = page(r);
+        if (r.isAdmin()) {
+            List<Object> items = new ArrayList<>();
+            for (Object[] app : db.getApplicationsPage((page - 1) * size, size)) {
+                items.add(row(APPLICATION_FIELDS, app));
+            }
+            return pageOf(page, size, db.getApplicationCount(), items);
+        }
+        return slice(db.getUserApplications(r.username), USER_APPLICATION_FIELDS, page, size);
+    }
+
+    /**
+     * GET /api/applications/{id}/cover-letter (admin): the one place a cover letter is read.
+     */
+    private Object getCoverLetter(Request r) throws Exception {
+        if (!r.isAdmin()) throw new ApiException(403, "Only admins can read cover letters.");
+        String path = r.exchange.getRequestURI().getPath();
+        String suffix = "/cover-letter";
+        if (!path.endsWith(suffix)) throw new ApiException(404, "Not found.");
+        int id = parseInt(path.substring("/api/applications/".length(), path.length() - suffix.length()), "application id");
+        StringWriter text = new StringWriter();
+        try (Reader reader = db.openCoverLetter(id)) {
+            if (reader == null) throw new ApiException(404, "No cover letter.");
+            reader.transferTo(text);
+        }
+        return Map.of("id", id, "coverLetter", text.toString());
+    }
+
+    private Object apply(Request r) throws Exception {
+        if (r.isAdmin()) throw new ApiException(403, "Admins cannot apply for jobs.");
+        Map<String, Object> body = body(r);
+        int jobId = parseInt(required(body, "jobId"), "jobId");
+        String name = required(body, "name");
+        String email = required(body, "email");
+        if (db.getJob(jobId) == null) throw new ApiException(404, "Job not found.");
+        // Idempotent: a repeated submit answers 200 with the existing application
+        ApplicationReceipt receipt = db.addApplication(r.username, jobId, name, email,
+            optional(body, "phone"), optional(body, "coverLetter"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("created", receipt.created);
+        result.put("id", receipt.applicationId);
+        result.put("status", receipt.status);
+        result.put("appliedAt", receipt.appliedAt);
+        return receipt.created ? new Created(result) : result;
+    }
+
+    private Object listNotifications(Request r) throws Exception {
+        int size = pageSize(r);
+        String before = r.query.get("before");
+        if (before != null) {
+            List<Object> items = new ArrayList<>();
+            for (Object[] n : db.getOlderNotifications(r.username, parseInt(before, "before"), size)) {
+                items.add(row(NOTIFICATION_FIELDS, n));
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("size", size);
+            result.put("items", items);
+            return result;
+        }
+        return slice(db.getAllNotifications(r.username), NOTIFICATION_FIELDS, page(r), size);
+    }
+
+    private Object markNotificationsRead(Request r) throws Exception {
+        return Map.of("updated", db.markAllNotificationsAsRead(r.username));
+    }
+
+    private Object getResume(Request r) throws Exception {
+        Object[] resume = db.getResume(r.username);
+        if (resume == null) throw new ApiException(404, "No resume saved.");
+        return row(RESUME_FIELDS, resume);
+    }
+
+    private Object saveResume(Request r) throws Exception {
+        Map<String, Object> body = body(r);
+        db.saveOrUpdateResume(r.username, required(body, "fullName"), required(body, "email"),
+            optional(body, "phone"), optional(body, "address"), optional(body, "education"),
+            optional(body, "experience"), optional(body, "skills"), optional(body, "summary"));
+        return Map.of("saved", true);
+    }
+
+    private Object listContactMessages(Request r) throws Exception {
+        if (r.isAdmin()) {
+            return slice(db.getAllContactMessages(), MESSAGE_FIELDS, page(r), pageSize(r));
+        }
+        return slice(db.getUserContactMessages(r.username), USER_MESSAGE_FIELDS, page(r), pageSize(r));
+    }
+
+    private Object sendContactMessage(Request r) throws Exception {
+        Map<String, Object> body = body(r);
+        db.addContactMessage(r.username, required(body, "subject"), required(body, "message"),
+            optional(body, "email"), optional(body, "phone"));
+        return new Created(Map.of("created", true));
+    }
+
+    // ============== PLUMBING ==============
+
+    private void route(String path, Map<String, Handler> handlers) {
+        route(path, handlers, true);
+    }
+
+    /**
+     * Registers handlers by HTTP method. Non-exact routes also serve sub-paths (e.g. /api/jobs/42).
+     */
+    private void route(String path, Map<String, Handler> handlers, boolean exact) {
+        server.createContext(path, exchange -> {
+            try {
+                dispatch(exchange, exact ? path : null, handlers);
+            } catch (Exception e) {
+                System.err.println("API error on " + exchange.getRequestURI() + ": " + e.getMessage());
+            } finally {
+                exchange.close();
+            }
+        });
+    }
+
+    private void dispatch(HttpExchange exchange, String path, Map<String, Handler> handlers) throws IOException {
+        try {
+            // Contexts match by prefix; exact routes only serve their own path
+            if (path != null && !exchange.getRequestURI().getPath().equals(path)) {
+                throw new ApiException(404, "Not found.");
+            }
+            Handler handler = handlers.get(exchange.getRequestMethod());
+            if (handler == null) {
+                exchange.getResponseHeaders().set("Allow", String.join(", ", handlers.keySet()));
+                throw new ApiException(405, "Method not allowed.");
+            }
+            String[] credentials = basicCredentials(exchange);
+            String role = credentials == null ? null : authenticate(credentials[0], credentials[1]);
+            if (role == null) {
+                exchange.getResponseHeaders().set("WWW-Authenticate", "Basic realm=\"joblisting\"");
+                throw new ApiException(401, "Authentication required.");
+            }
+            Request request = new Request(exchange, credentials[0], role, parseQuery(exchange.getRequestURI().getRawQuery()));
+            Object result = handler.handle(request);
+            if (result instanceof ResponseCache.Entry) {
+                sendCached(exchange, (ResponseCache.Entry) result);
+            } else if (result instanceof NotModified) {
+                notModified(exchange, ((NotModified) result).etag);
+            } else if (result instanceof Created) {
+                send(exchange, 201, Json.write(((Created) result).body));
+            } else {
+                send(exchange, 200, Json.write(result));
+            }
+        } catch (ApiException e) {
+            send(exchange, e.status, Json.write(Map.of("error", e.getMessage())));
+        } catch (RateLimitExceededException e) {
+            exchange.getResponseHeaders().set("Retry-After", String.valueOf(e.getRetryAfterSeconds()));
+            send(exchange, 429, Json.write(Map.of("error", e.getMessage())));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, Json.write(Map.of("error", e.getMessage())));
+        } catch (SQLException e) {
+            System.err.println("API database error: " + e.getMessage());
+            send(exchange, 500, Json.write(Map.of("error", "Database error.")));
+        } catch (Exception e) {
+            System.err.println("API error: " + e);
+            send(exchange, 500, Json.write(Map.of("error", "Internal error.")));
+        }
+    }
+
+    /**
+     * Writes a JSON response with ETag/If-None-Match handling for GETs and optional gzip.
+     */
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        if (status == 200 && "GET".equals(exchange.getRequestMethod())
+                && notModified(exchange, "W/\"" + digestHex(body) + "\"")) {
+            return;
+        }
+        byte[] gzipped = body.length >= GZIP_MIN_BYTES && acceptsGzip(exchange) ? ResponseCache.gzip(body) : null;
+        writeBody(exchange, status, body, gzipped);
+    }
+
+    /**
+     * Writes a pre-serialized response; no JSON or gzip work happens here.
+     */
+    private static void sendCached(HttpExchange exchange, ResponseCache.Entry entry) throws IOException {
+        if (notModified(exchange, entry.etag)) return;
+        writeBody(exchange, 200, entry.body, acceptsGzip(exchange) ? entry.gzipped : null);
+    }
+
+    /**
+     * Sets the validator headers and answers 304 if the client already has this version.
+     */
+    private static boolean notModified(HttpExchange exchange, String etag) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "private, no-cache");
+        headers.set("Vary", "Accept-Encoding, Authorization");
+        if (clientHas(exchange, etag)) {
+            exchange.sendResponseHeaders(304, -1);
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean clientHas(HttpExchange exchange, String etag) {
+        String ifNoneMatch = exchange.getRequestHeaders().getFirst("If-None-Match");
+        return ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"));
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private static void writeBody(HttpExchange exchange, int status, byte[] body, byte[] gzipped) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        headers.set("Vary", "Accept-Encoding, Authorization");
+        if (gzipped != null) {
+            headers.set("Content-Encoding", "gzip");
+            body = gzipped;
+        }
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private String authenticate(String username, String password) throws SQLException {
+        // One indexed lookup per request, no hashing unless the stored hash changed
+        String[] credentials = db.getCredentials(username);
+        if (credentials == null) {
+            logins.remove(username);
+            return null;
+        }
+        byte[] passwordBytes = password.getBytes(StandardCharsets.UTF_8);
+        byte[] salted = new byte[digestSalt.length + passwordBytes.length];
+        System.arraycopy(digestSalt, 0, salted, 0, digestSalt.length);
+        System.arraycopy(passwordBytes, 0, salted, digestSalt.length, passwordBytes.length);
+        byte[] digest = sha256(salted);
+        CachedLogin cached = logins.get(username);
+        long now = System.currentTimeMillis();
+        if (cached != null && cached.expiresAt > now && cached.storedHash.equals(credentials[1])
+                && MessageDigest.isEqual(cached.passwordDigest, digest)) {
+            return credentials[0];
+        }
+        if (db.passwordMatches(password, credentials[1])) {
+            logins.put(username, new CachedLogin(digest, credentials[1], now + AUTH_CACHE_MILLIS));
+            return credentials[0];
+        }
+        logins.remove(username);
+        return null;
+    }
+
+    private static String[] basicCredentials(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.regionMatches(true, 0, "Basic ", 0, 6)) return null;
+        try {
+            String decoded = new String(Base64.getDecoder().decode(header.substring(6).trim()), StandardCharsets.UTF_8);
+            int colon = decoded.indexOf(':');
+            return colon > 0 ? new String[]{decoded.substring(0, colon), decoded.substring(colon + 1)} : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> body(Request r) throws IOException {
+        InputStream in = r.exchange.getRequestBody();
+        byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+        if (bytes.length > MAX_BODY_BYTES) throw new IllegalArgumentException("Request body too large.");
+        Object parsed = Json.parse(new String(bytes, StandardCharsets.UTF_8));
+        if (!(parsed instanceof Map)) throw new IllegalArgumentException("Expected a JSON object.");
+        return (Map<String, Object>) parsed;
+    }
+
+    private static String required(Map<String, Object> body, String field) {
+        String value = optional(body, field);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("Missing field: " + field);
+        }
+        return value.trim();
+    }
+
+    private static String optional(Map<String, Object> body, String field) {
+        Object value = body.get(field);
+        return value == null ? null : String.valueOf(value);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            query.put(key, value);
+        }
+        return query;
+    }
+
+    private static int page(Request r) {
+        String page = r.query.get("page");
+        int value = page == null ? 1 : Math.max(1, parseInt(page, "page"));
+        if (value > MAX_PAGE) throw new IllegalArgumentException("Invalid page: " + page);
+        return value;
+    }
+
+    private static int pageSize(Request r) {
+        String size = r.query.get("size");
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, parseInt(size, "size")));
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + value);
+        }
+    }
+
+    private static Map<String, Object> row(String[] fields, Object[] values) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < fields.length && i < values.length; i++) {
+            map.put(fields[i], values[i]);
+        }
+        return map;
+    }
+
+    private static Map<String, Object> pageOf(int page, int size, int total, List<Object> items) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("page", page);
+        result.put("size", size);
+        result.put("total", total);
+        result.put("items", items);
+        return result;
+    }
+
+    private static Map<String, Object> slice(List<Object[]> rows, String[] fields, int page, int size) {
+        List<Object> items = new ArrayList<>();
+        int from = Math.min(rows.size(), (page - 1) * size);
+        int to = Math.min(rows.size(), from + size);
+        for (Object[] values : rows.subList(from, to)) {
+            items.add(row(fields, values));
+        }
+        return pageOf(page, size, rows.size(), items);
+    }
+
+    private static String digestHex(byte[] body) {
+        return HexFormat.of().formatHex(sha256(body), 0, 16);
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -40,4 +40,6 @@ public class AppTheme {
     
     // Table Columns
     public static final String[] JOB_COLUMNS = {"ID", "Title", "Company", "Location", "Salary", "Description"};
+    // Appended for admins, from JobStats
+    public static final String[] JOB_STATS_COLUMNS = {"Applicants", "Pending", "Approved", "Rejected", "Last 7 Days", "Avg Decision"};
 }
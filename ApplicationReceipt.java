@@ -0,0 +1,23 @@
+import java.sql.Timestamp;
+
+/**
+ * ApplicationReceipt.java - Result of Applying for a Job
+ *
+ * The application a user has for a job. A user applies to a job at most
+ * once: submitting again returns the existing application with created
+ * set to false and writes nothing.
+ */
+public final class ApplicationReceipt {
+
+    public final int applicationId;
+    public final String status;
+    public final Timestamp appliedAt;
+    public final boolean created;
+
+    ApplicationReceipt(int applicationId, String status, Timestamp appliedAt, boolean created) {
+        this.applicationId = applicationId;
+        this.status = status;
+        this.appliedAt = appliedAt;
+        this.created = created;
+    }
+}
@@ -0,0 +1,165 @@
+import java.lang.ref.SoftReference;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CacheRegion.java - Two-Tier Read Cache
+ *
+ * One region per kind of row (resumes, a user's applications, ...), each
+ * with its own size and time-to-live. Entries live in a small LRU map
+ * (tier 1); entries it evicts move to a larger map of soft references
+ * (tier 2) that the garbage collector may clear under memory pressure, and
+ * move back to tier 1 when they are hit. Absent rows are cached too.
+ *
+ * DatabaseManager invalidates the affected keys on every write it makes
+ * (write-through invalidation). Writes by other clients of a shared server
+ * are only seen once the TTL has passed. A load that races with an
+ * invalidation of the same region is returned but not cached.
+ *
+ *   -Djoblisting.cache.enabled=false          always read the database
+ *   -Djoblisting.cache.<region>.size=1000     tier-1 entries (tier 2 holds 4x)
+ *   -Djoblisting.cache.<region>.ttlSeconds=60
+ */
+public final class CacheRegion<K, V> {
+
+    /** Reads a value from the database on a miss. */
+    public interface Loader<K, V> {
+        V load(K key) throws SQLException;
+    }
+
+    public static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("joblisting.cache.enabled", "true"));
+
+    private static final List<CacheRegion<?, ?>> regions = new CopyOnWriteArrayList<>();
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // Guarded by this
+    private final LinkedHashMap<K, Entry<V>> hot;
+    private final LinkedHashMap<K, SoftReference<Entry<V>>> cold;
+
+    // Bumped by every invalidation; loads that saw an older value are not cached
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong coldHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CacheRegion(String name, int defaultSize, int defaultTtlSeconds) {
+        this.name = name;
+        this.maxEntries = Integer.getInteger("joblisting.cache." + name + ".size", defaultSize);
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(
+            Integer.getInteger("joblisting.cache." + name + ".ttlSeconds", defaultTtlSeconds));
+        this.cold = new LinkedHashMap<K, SoftReference<Entry<V>>>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, SoftReference<Entry<V>>> eldest) {
+                return size() > maxEntries * 4;
+            }
+        };
+        this.hot = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() <= maxEntries) return false;
+                cold.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+                return true;
+            }
+        };
+        regions.add(this);
+    }
+
+    /**
+     * The cached value for the key, loading (and caching) it on a miss.
+     */
+    public V get(K key, Loader<K, V> loader) throws SQLException {
+        if (!ENABLED) return loader.load(key);
+        long now = System.nanoTime();
+        long seenGeneration;
+        synchronized (this) {
+            Entry<V> entry = hot.get(key);
+            if (entry != null && entry.expiresAt - now > 0) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            SoftReference<Entry<V>> ref = cold.remove(key);
+            entry = ref != null ? ref.get() : null;
+            if (entry != null && entry.expiresAt - now > 0) {
+                coldHits.incrementAndGet();
+                hot.put(key, entry);
+                return entry.value;
+            }
+            seenGeneration = generation.get();
+        }
+        misses.incrementAndGet();
+        V value = loader.load(key);
+        synchronized (this) {
+            if (generation.get() == seenGeneration) {
+                hot.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            }
+        }
+        return value;
+    }
+
+    public synchronized void invalidate(K key) {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        hot.remove(key);
+        cold.remove(key);
+    }
+
+    public synchronized void invalidateAll() {
+        generation.incrementAndGet();
+        invalidations.incrementAndGet();
+        hot.clear();
+        cold.clear();
+    }
+
+    /**
+     * Hit rates and sizes of every region.
+     */
+    public static String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %10s %11s %10s %8s %8s %8s %13s%n",
+            "Region", "Hits", "Tier-2 Hits", "Misses", "Hit %", "Entries", "Tier 2", "Invalidations"));
+        for (CacheRegion<?, ?> r : regions) {
+            long hit = r.hits.get() + r.coldHits.get();
+            long total = hit + r.misses.get();
+            int hotSize;
+            int coldSize;
+            synchronized (r) {
+                hotSize = r.hot.size();
+                coldSize = r.cold.size();
+            }
+            sb.append(String.format("%-20s %10d %11d %10d %7.1f%% %8d %8d %13d%n", r.name, r.hits.get(),
+                r.coldHits.get(), r.misses.get(), total == 0 ? 0.0 : 100.0 * hit / total, hotSize, coldSize,
+                r.invalidations.get()));
+        }
+        if (!ENABLED) sb.append("\n(caching disabled)\n");
+        return sb.toString();
+    }
+
+    public static void resetStats() {
+        for (CacheRegion<?, ?> r : regions) {
+            r.hits.set(0);
+            r.coldHits.set(0);
+            r.misses.set(0);
+            r.invalidations.set(0);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * CompressedText.java - Compressed Large Text Columns
+ *
+ * Encoding for the free-text BLOB columns (cover letters, resume sections).
+ * The first byte says how the UTF-8 text that follows is stored: RAW for
+ * short text, where compression does not pay, or DEFLATE. Values can be
+ * decoded whole or streamed through a Reader without holding the text.
+ *
+ *   -Djoblisting.text.compressMinBytes=256   shorter text is stored raw
+ */
+public final class CompressedText {
+
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+    private static final int MIN_BYTES = Integer.getInteger("joblisting.text.compressMinBytes", 256);
+
+    private CompressedText() { }
+
+    /**
+     * Column value for the text; null stays null.
+     */
+    public static byte[] encode(String text) {
+        if (text == null) return null;
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= MIN_BYTES) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(utf8.length / 2 + 16);
+            bytes.write(DEFLATE);
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try (DeflaterOutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+                out.write(utf8);
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // in-memory stream
+            } finally {
+                deflater.end();
+            }
+            if (bytes.size() < utf8.length) return bytes.toByteArray();
+        }
+        byte[] raw = new byte[utf8.length + 1];
+        raw[0] = RAW;
+        System.arraycopy(utf8, 0, raw, 1, utf8.length);
+        return raw;
+    }
+
+    public static String decode(byte[] value) {
+        if (value == null) return null;
+        if (value.length > 0 && value[0] == RAW) {
+            return new String(value, 1, value.length - 1, StandardCharsets.UTF_8);
+        }
+        try (Reader reader = reader(new ByteArrayInputStream(value), null)) {
+            StringBuilder sb = new StringBuilder(value.length * 3);
+            char[] buffer = new char[4096];
+            int n;
+            while ((n = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, n);
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt compressed text", e);
+        }
+    }
+
+    /**
+     * Streams the text of an encoded value. Closing the reader also closes resources
+     * (e.g. the result set the stream comes from), if given.
+     */
+    public static Reader reader(InputStream value, AutoCloseable resources) throws IOException {
+        int format = value.read();
+        if (format != RAW && format != DEFLATE && format != -1) {
+            throw new IOException("Unknown text encoding " + format);
+        }
+        InputStream text = format == DEFLATE ? new InflaterInputStream(value) : value;
+        return new FilterReader(new InputStreamReader(text, StandardCharsets.UTF_8)) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (resources != null) {
+                        try {
+                            resources.close();
+                        } catch (Exception e) {
+                            throw new IOException(e);
+                        }
+                    }
+                }
+            }
+        };
+    }
+}
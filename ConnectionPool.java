@@ -0,0 +1,187 @@
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionPool.java - Bounded JDBC Connection Pool
+ *
+ * Hands out at most maxSize connections at a time, reusing idle ones after
+ * a validity check. Callers close() the connection they borrowed to return
+ * it. When the pool is exhausted, borrow() waits up to the timeout and then
+ * fails instead of opening more connections.
+ *
+ * Hot paths can keep prepared statements open on each physical connection:
+ * conn.unwrap(ConnectionPool.StatementCache.class) on a borrowed connection
+ * returns that connection's cache.
+ */
+public class ConnectionPool {
+
+    /** Opens a new physical connection (e.g. with server failover). */
+    public interface ConnectionFactory {
+        Connection connect() throws SQLException;
+    }
+
+    /**
+     * Statements prepared once per physical connection and closed with it. Only the
+     * thread that borrowed the connection uses its cache, so it needs no locking.
+     */
+    public static final class StatementCache {
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        /**
+         * The statement for sql, prepared through conn (the borrowed connection) the first
+         * time, with its parameters cleared. Do not close it or use it after returning conn.
+         */
+        public PreparedStatement prepare(Connection conn, String sql) throws SQLException {
+            PreparedStatement ps = statements.get(sql);
+            if (ps == null || ps.isClosed()) {
+                ps = conn.prepareStatement(sql);
+                statements.put(sql, ps);
+            } else {
+                ps.clearParameters();
+            }
+            return ps;
+        }
+    }
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final BlockingQueue<Connection> idle = new LinkedBlockingQueue<>();
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final Semaphore permits;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private volatile boolean closed = false;
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long borrowTimeoutMillis) {
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize, true);
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    /**
+     * Borrows a connection; close() on the returned connection gives it back.
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed.");
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Timed out waiting for a database connection.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for a database connection.");
+        }
+        try {
+            Connection physical;
+            while ((physical = idle.poll()) != null) {
+                if (isUsable(physical)) return lease(physical);
+                closeQuietly(physical);
+            }
+            return lease(factory.connect());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes all idle connections, e.g. after failing over to another server.
+     */
+    public void evictIdle() {
+        Connection physical;
+        while ((physical = idle.poll()) != null) {
+            closeQuietly(physical);
+        }
+    }
+
+    public void close() {
+        closed = true;
+        evictIdle();
+    }
+
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    private Connection lease(Connection physical) {
+        boolean[] returned = {false};
+        return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.equals("close")) {
+                    if (!returned[0]) {
+                        returned[0] = true;
+                        giveBack(physical);
+                    }
+                    return null;
+                }
+                if (name.equals("isClosed") && returned[0]) {
+                    return true;
+                }
+                if (returned[0]) {
+                    throw new SQLException("Connection has been returned to the pool.");
+                }
+                if (name.equals("unwrap") && args[0] == StatementCache.class) {
+                    return statementCaches.computeIfAbsent(physical, c -> new StatementCache());
+                }
+                if (name.equals("isWrapperFor") && args[0] == StatementCache.class) {
+                    return true;
+                }
+                try {
+                    return method.invoke(physical, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    private void giveBack(Connection physical) {
+        try {
+            if (!closed && !physical.isClosed()) {
+                // Never hand out a connection with someone else's open transaction
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idle.offer(physical);
+                return;
+            }
+        } catch (SQLException e) {
+            // Broken connection: drop it below
+        } finally {
+            permits.release();
+        }
+        closeQuietly(physical);
+    }
+
+    private static boolean isUsable(Connection physical) {
+        try {
+            return !physical.isClosed() && physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void closeQuietly(Connection physical) {
+        statementCaches.remove(physical);
+        try {
+            physical.close();
+        } catch (SQLException ignored) { }
+    }
+}
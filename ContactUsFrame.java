@@ -198,6 +198,8 @@ public class ContactUsFrame extends JFrame {
             } else {
                 UIHelper.showErrorDialog(this, "Failed to send message. Please try again.");
             }
+        } catch (RateLimitExceededException e) {
+            UIHelper.showWarningDialog(this, e.getMessage());
         } catch (SQLException e) {
             UIHelper.showErrorDialog(this, "Error sending message: " + e.getMessage());
         }
@@ -1,7 +1,23 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.sql.*;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
 
 /**
  * DatabaseManager.java - Database Operations
@@ -11,18 +27,91 @@ import java.util.List;
 public class DatabaseManager {
     
     private static DatabaseManager instance;
-    private Connection connection;
+    // Shared connection for the UI; replaced on reconnect/failover
+    private volatile Connection connection;
+    
+    // All connections come from here (the shared one, background writers, bulk jobs)
+    private ConnectionPool pool;
+    
+    // Server mode: index into DB_SERVERS of the server currently in use
+    private volatile int activeServer = 0;
+    private ScheduledExecutorService heartbeat;
+    
+    // Prepared statements for hot paths, kept open for the life of the connection
+    private final Map<String, PreparedStatement> statementCache = new HashMap<>();
+    
+    // Batches notification inserts on its own connection
+    private NotificationWriter notificationWriter;
+    
+    // Moves old read notifications out of the live table
+    private NotificationArchiver notificationArchiver;
+    
+    // Keeps the analytics dashboard's hourly/daily rollups up to date
+    private AnalyticsRollups analyticsRollups;
+    
+    // Most recent notifications shown in an inbox; older ones are paged in
+    public static final int INBOX_LIMIT = 100;
+    
+    // Per-statement timings, row counts and slow-query log for every connection we open
+    private final QueryMetrics metrics = QueryMetrics.getInstance();
+    
+    // Per-user limits on contact messages and applications
+    private final RateLimiter rateLimiter = RateLimiter.getInstance();
+    
+    // Read caches by username (see CacheRegion); every write below invalidates what it changes.
+    // Resume rows keep their long sections compressed; null marks users known to have none.
+    private final CacheRegion<String, Object[]> resumes = new CacheRegion<>("resumes", 1000, 300);
+    private final CacheRegion<String, Boolean> users = new CacheRegion<>("users", 5000, 300);
+    private final CacheRegion<String, List<Object[]>> userApplications = new CacheRegion<>("userApplications", 1000, 60);
+    private final CacheRegion<String, List<Object[]>> userMessages = new CacheRegion<>("userMessages", 1000, 60);
+    
+    // Last seen data_versions row for jobs; readers use it to validate cached job responses.
+    // Other processes bump it too, so it is re-read once it is older than the TTL.
+    private static final long JOBS_VERSION_TTL_NANOS =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("joblisting.api.jobsVersionTtlMillis", 1000L));
+    private final AtomicLong jobsVersion = new AtomicLong();
+    private volatile long jobsVersionCheckedAt = System.nanoTime() - JOBS_VERSION_TTL_NANOS - 1;
     
     // H2 Database Configuration
     // File-based: "jdbc:h2:./job_listing" - creates job_listing.mv.db file
     // AUTO_SERVER=TRUE allows multiple connections
-    private static final String DB_URL = "jdbc:h2:./job_listing;AUTO_SERVER=TRUE";
-    private static final String DB_USER = "sa";  // default H2 username
-    private static final String DB_PASSWORD = ""; // default empty password
+    // Override with -Djoblisting.db.url=... (used by the benchmarks)
+    private static final String DB_URL = System.getProperty("joblisting.db.url", "jdbc:h2:./job_listing;AUTO_SERVER=TRUE");
+    // Credentials: joblisting.db.user (default sa) and JOBLISTING_DB_PASSWORD or
+    // joblisting.db.password. A DatabaseServer requires a password; embedded files default to none.
+    private static final String DB_USER = configuredUser();
+    private static final String DB_PASSWORD = configuredPassword();
+    
+    // Server mode: -Djoblisting.db.mode=server connects to a DatabaseServer over TCP.
+    // joblisting.db.servers lists host:port in failover order.
+    private static final boolean SERVER_MODE = "server".equalsIgnoreCase(System.getProperty("joblisting.db.mode", "embedded"));
+    private static final String[] DB_SERVERS = System.getProperty("joblisting.db.servers", "localhost:9092").split(",");
+    private static final String DB_NAME = System.getProperty("joblisting.db.name", "job_listing");
+    private static final int POOL_SIZE = Integer.getInteger("joblisting.db.poolSize", 8);
+    // Times a login re-checks a password that changed while it was being verified
+    private static final int LOGIN_ATTEMPTS = 3;
     
     private DatabaseManager() {
+        long start = StartupTimer.start();
         connect();
-        createTables();
+        StartupTimer.record("Database connect", start);
+        start = StartupTimer.start();
+        migrateSchema();
+        StartupTimer.record("Schema check", start);
+        startNotificationWriter();
+        startNotificationArchiver();
+        startAnalyticsRollups();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "db-shutdown"));
+    }
+    
+    static String configuredUser() {
+        return System.getProperty("joblisting.db.user", "sa");
+    }
+    
+    static String configuredPassword() {
+        String password = System.getProperty("joblisting.db.password");
+        if (password == null) password = System.getenv("JOBLISTING_DB_PASSWORD");
+        return password != null ? password : "";
     }
     
     public static synchronized DatabaseManager getInstance() {
@@ -35,7 +124,16 @@ public class DatabaseManager {
     private void connect() {
         try {
             Class.forName("org.h2.Driver");
-            connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+            if (SERVER_MODE && DB_PASSWORD.isEmpty()) {
+                System.err.println("Server mode needs the database server's password: " +
+                    "set JOBLISTING_DB_PASSWORD or -Djoblisting.db.password");
+            }
+            pool = new ConnectionPool(this::connectPhysical, POOL_SIZE,
+                Long.getLong("joblisting.db.poolTimeoutMillis", 5_000L));
+            connection = openConnection();
+            if (SERVER_MODE) {
+                startHeartbeat();
+            }
             System.out.println("✓ Connected to H2 database");
         } catch (ClassNotFoundException e) {
             System.err.println("H2 JDBC driver not found: " + e.getMessage());
@@ -44,170 +142,225 @@ public class DatabaseManager {
         }
     }
     
-    public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
+    /**
+     * Borrows a pooled connection, instrumented by QueryMetrics. Closing it returns it to the pool.
+     */
+    Connection openConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = pool.borrow();
+        metrics.recordConnectionWait(System.nanoTime() - start);
+        return metrics.wrap(conn);
+    }
+    
+    /**
+     * Opens a new physical connection. In server mode, tries the active server
+     * first and then the others in order.
+     */
+    private Connection connectPhysical() throws SQLException {
+        if (!SERVER_MODE) {
+            return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        }
+        SQLException failure = null;
+        int first = activeServer;
+        for (int i = 0; i < DB_SERVERS.length; i++) {
+            int index = (first + i) % DB_SERVERS.length;
+            String server = DB_SERVERS[index].trim();
+            try {
+                // AUTO_RECONNECT rides out short network drops to the same server
+                Connection conn = DriverManager.getConnection(
+                    "jdbc:h2:tcp://" + server + "/" + DB_NAME + ";AUTO_RECONNECT=TRUE", DB_USER, DB_PASSWORD);
+                if (activeServer != index) {
+                    System.out.println("✓ Failed over to database server " + server);
+                    activeServer = index;
+                }
+                return conn;
+            } catch (SQLException e) {
+                System.err.println("Database server " + server + " unavailable: " + e.getMessage());
+                if (failure == null) failure = e; else failure.setNextException(e);
+            }
         }
+        throw failure;
     }
     
-    private void createTables() {
-        if (!isConnected()) return;
-        
-        try (Statement stmt = connection.createStatement()) {
-            // Users table (H2 syntax)
-            stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(255) UNIQUE NOT NULL, " +
-                "password VARCHAR(255) NOT NULL, " +
-                "email VARCHAR(255), " +
-                "role VARCHAR(50) NOT NULL DEFAULT 'Customer')");
-            
-            // Add email column if it doesn't exist (for existing databases)
+    /**
+     * Server mode: checks the shared connection every few seconds and
+     * reconnects (failing over if needed) when it has gone bad.
+     */
+    private void startHeartbeat() {
+        long seconds = Long.getLong("joblisting.db.heartbeatSeconds", 5L);
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleWithFixedDelay(() -> {
             try {
-                // Check if email column exists
-                ResultSet rs = stmt.executeQuery("SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'USERS' AND COLUMN_NAME = 'EMAIL'");
-                if (!rs.next()) {
-                    // Column doesn't exist, add it
-                    stmt.execute("ALTER TABLE users ADD COLUMN email VARCHAR(255)");
+                if (connection == null || !connection.isValid(2)) {
+                    reconnect();
                 }
-                rs.close();
             } catch (SQLException e) {
-                // Column might already exist or table doesn't exist yet, ignore
+                System.err.println("Reconnect failed: " + e.getMessage());
             }
-            
-            // Jobs table (H2 syntax)
-            stmt.execute("CREATE TABLE IF NOT EXISTS jobs (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "title VARCHAR(255) NOT NULL, " +
-                "company VARCHAR(255), " +
-                "location VARCHAR(255), " +
-                "salary VARCHAR(100), " +
-                "description TEXT, " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Applications table (H2 syntax)
-            stmt.execute("CREATE TABLE IF NOT EXISTS applications (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(255) NOT NULL, " +
-                "job_title VARCHAR(255) NOT NULL, " +
-                "company VARCHAR(255), " +
-                "applicant_name VARCHAR(255), " +
-                "email VARCHAR(255), " +
-                "phone VARCHAR(50), " +
-                "cover_letter TEXT, " +
-                "status VARCHAR(50) DEFAULT 'Pending', " +
-                "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Notifications table (H2 syntax)
-            stmt.execute("CREATE TABLE IF NOT EXISTS notifications (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(255) NOT NULL, " +
-                "job_title VARCHAR(255) NOT NULL, " +
-                "message TEXT, " +
-                "status VARCHAR(50), " +
-                "is_read INT DEFAULT 0, " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Resumes table (H2 syntax)
-            stmt.execute("CREATE TABLE IF NOT EXISTS resumes (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(255) UNIQUE NOT NULL, " +
-                "full_name VARCHAR(255), " +
-                "email VARCHAR(255), " +
-                "phone VARCHAR(50), " +
-                "address TEXT, " +
-                "education TEXT, " +
-                "experience TEXT, " +
-                "skills TEXT, " +
-                "summary TEXT, " +
-                "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
-            
-            // Contact Messages table (H2 syntax)
-            stmt.execute("CREATE TABLE IF NOT EXISTS contact_messages (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(255) NOT NULL, " +
-                "subject VARCHAR(255) NOT NULL, " +
-                "message TEXT NOT NULL, " +
-                "email VARCHAR(255), " +
-                "phone VARCHAR(50), " +
-                "status VARCHAR(50) DEFAULT 'New', " +
-                "is_read INT DEFAULT 0, " +
-                "admin_response TEXT, " +
-                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
-            
-            // User Sessions table (H2 syntax) - tracks login/logout
-            stmt.execute("CREATE TABLE IF NOT EXISTS user_sessions (" +
-                "id INT AUTO_INCREMENT PRIMARY KEY, " +
-                "username VARCHAR(255) NOT NULL, " +
-                "login_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-                "logout_time TIMESTAMP, " +
-                "is_active INT DEFAULT 1)");
-            
-            // Add default admin user if not exists (H2 MERGE syntax)
-            PreparedStatement ps = connection.prepareStatement(
-                "MERGE INTO users (username, password, role) KEY(username) VALUES (?, ?, ?)");
-            ps.setString(1, "admin");
-            ps.setString(2, "admin123");
-            ps.setString(3, "Admin");
-            ps.executeUpdate();
-            ps.close();
-            
-            System.out.println("✓ Database tables created/verified");
+        }, seconds, seconds, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Replaces the shared connection and drops pooled connections to the old server.
+     */
+    private synchronized void reconnect() throws SQLException {
+        Connection old = connection;
+        if (old != null) {
+            try {
+                old.close();
+            } catch (SQLException ignored) { }
+        }
+        // Cached statements belong to the old connection
+        statementCache.clear();
+        pool.evictIdle();
+        connection = openConnection();
+        System.out.println("✓ Reconnected to database server " + DB_SERVERS[activeServer].trim());
+    }
+    
+    private void startNotificationWriter() {
+        if (!isConnected()) return;
+        try {
+            notificationWriter = new NotificationWriter(this::openConnection,
+                Integer.getInteger("joblisting.notifications.queueSize", 10_000),
+                Integer.getInteger("joblisting.notifications.batchSize", 200),
+                Long.getLong("joblisting.notifications.flushMillis", 5L),
+                2_000L);
+        } catch (SQLException e) {
+            // Fall back to synchronous inserts
+            System.err.println("Notification writer unavailable: " + e.getMessage());
+        }
+    }
+    
+    private void startNotificationArchiver() {
+        if (!isConnected()) return;
+        notificationArchiver = new NotificationArchiver(this,
+            Integer.getInteger("joblisting.notifications.archiveDays", 30),
+            Integer.getInteger("joblisting.notifications.archiveBatch", 500));
+        notificationArchiver.start(Long.getLong("joblisting.notifications.archiveHours", 6L));
+    }
+    
+    private void startAnalyticsRollups() {
+        if (!isConnected()) return;
+        analyticsRollups = new AnalyticsRollups(this,
+            Integer.getInteger("joblisting.analytics.lookbackDays", 7),
+            Integer.getInteger("joblisting.analytics.hourlyRetentionDays", 30));
+        analyticsRollups.start(Long.getLong("joblisting.analytics.intervalMinutes", 5L));
+    }
+    
+    /**
+     * Writes queued notifications and closes the database. Runs on JVM shutdown.
+     */
+    public synchronized void close() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+        if (notificationArchiver != null) {
+            notificationArchiver.stop();
+            notificationArchiver = null;
+        }
+        if (analyticsRollups != null) {
+            analyticsRollups.stop();
+            analyticsRollups = null;
+        }
+        if (notificationWriter != null) {
+            notificationWriter.close();
+            notificationWriter = null;
+        }
+        try {
+            if (isConnected()) {
+                connection.close();
+            }
+        } catch (SQLException e) {
+            System.err.println("Error closing database: " + e.getMessage());
+        }
+        if (pool != null) {
+            pool.close();
+        }
+        metrics.close();
+    }
+    
+    private void flushNotifications() {
+        if (notificationWriter != null) {
+            notificationWriter.flush();
+        }
+    }
+    
+    public boolean isConnected() {
+        try {
+            return connection != null && !connection.isClosed();
         } catch (SQLException e) {
-            System.err.println("Error creating tables: " + e.getMessage());
+            return false;
         }
     }
     
-    public void addSampleJobs() {
+    /**
+     * A statement kept open on the pooled connection conn, prepared on first use there.
+     * Do not close it, and use it only while holding conn.
+     */
+    private static PreparedStatement prepareCached(Connection conn, String sql) throws SQLException {
+        return conn.unwrap(ConnectionPool.StatementCache.class).prepare(conn, sql);
+    }
+    
+    private PreparedStatement prepareCached(String sql) throws SQLException {
+        PreparedStatement ps = statementCache.get(sql);
+        if (ps == null || ps.isClosed()) {
+            ps = connection.prepareStatement(sql);
+            statementCache.put(sql, ps);
+        }
+        return ps;
+    }
+    
+    /**
+     * Applies pending schema migrations; a current schema costs a single query.
+     */
+    private void migrateSchema() {
         if (!isConnected()) return;
         
         try {
-            Statement stmt = connection.createStatement();
-            ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM jobs");
-            if (rs.next() && rs.getInt(1) == 0) {
-                String[] sampleJobs = {
-                    "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Software Engineer', 'Tech Corp', 'Manila', '80,000 PHP', 'Develop and maintain software applications')",
-                    "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Data Analyst', 'Data Inc', 'Makati', '60,000 PHP', 'Analyze business data and create reports')",
-                    "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Project Manager', 'Global Solutions', 'BGC', '100,000 PHP', 'Lead and manage project teams')",
-                    "INSERT INTO jobs (title, company, location, salary, description) VALUES ('UI/UX Designer', 'Creative Agency', 'Cebu', '55,000 PHP', 'Design user interfaces and experiences')",
-                    "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Network Administrator', 'IT Services', 'Quezon City', '50,000 PHP', 'Manage and maintain network infrastructure')"
-                };
-                for (String sql : sampleJobs) {
-                    stmt.executeUpdate(sql);
-                }
-                System.out.println("✓ Sample jobs added");
+            int applied = SchemaMigrator.migrate(connection, this::connectPhysical);
+            if (applied == 0) {
+                System.out.println("✓ Database schema is current (v" + SchemaMigrator.LATEST_VERSION + ")");
+            } else {
+                System.out.println("✓ Database schema migrated to v" + SchemaMigrator.LATEST_VERSION);
             }
-            rs.close();
-            stmt.close();
         } catch (SQLException e) {
-            System.err.println("Error adding sample jobs: " + e.getMessage());
+            System.err.println("Error migrating database schema: " + e.getMessage());
         }
     }
     
     // ============== USER OPERATIONS ==============
     
     public boolean userExists(String username) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT COUNT(*) FROM users WHERE username = ?");
-        ps.setString(1, username);
-        ResultSet rs = ps.executeQuery();
-        boolean exists = rs.next() && rs.getInt(1) > 0;
-        rs.close();
-        ps.close();
-        return exists;
+        return users.get(username, this::loadUserExists);
+    }
+    
+    private boolean loadUserExists(String username) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT COUNT(*) FROM users WHERE username = ?")) {
+            ps.setString(1, username);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) > 0;
+            }
+        }
     }
     
     public boolean addUser(String username, String password, String email, String role) throws SQLException {
+        String passwordHash = hashPassword(password);
         PreparedStatement ps = connection.prepareStatement(
             "INSERT INTO users (username, password, email, role) VALUES (?, ?, ?, ?)");
         ps.setString(1, username);
-        ps.setString(2, password);
+        ps.setString(2, passwordHash);
         ps.setString(3, email);
         ps.setString(4, role);
         int result = ps.executeUpdate();
         ps.close();
+        users.invalidate(username);
         return result > 0;
     }
     
@@ -217,52 +370,67 @@ public class DatabaseManager {
             throw new SQLException("Cannot delete the admin user.");
         }
         
-        // Delete all related data first (in order to avoid foreign key issues)
-        // 1. Delete user sessions
-        PreparedStatement deleteSessions = connection.prepareStatement(
-            "DELETE FROM user_sessions WHERE username = ?");
-        deleteSessions.setString(1, username);
-        deleteSessions.executeUpdate();
-        deleteSessions.close();
-        
-        // 2. Delete applications
-        PreparedStatement deleteApplications = connection.prepareStatement(
-            "DELETE FROM applications WHERE username = ?");
-        deleteApplications.setString(1, username);
-        deleteApplications.executeUpdate();
-        deleteApplications.close();
+        // Let queued notifications land so they are deleted too
+        flushNotifications();
         
-        // 3. Delete notifications
-        PreparedStatement deleteNotifications = connection.prepareStatement(
-            "DELETE FROM notifications WHERE username = ?");
-        deleteNotifications.setString(1, username);
-        deleteNotifications.executeUpdate();
-        deleteNotifications.close();
-        
-        // 4. Delete resume
-        PreparedStatement deleteResume = connection.prepareStatement(
-            "DELETE FROM resumes WHERE username = ?");
-        deleteResume.setString(1, username);
-        deleteResume.executeUpdate();
-        deleteResume.close();
-        
-        // 5. Delete contact messages
-        PreparedStatement deleteContactMessages = connection.prepareStatement(
-            "DELETE FROM contact_messages WHERE username = ?");
-        deleteContactMessages.setString(1, username);
-        deleteContactMessages.executeUpdate();
-        deleteContactMessages.close();
-        
-        // 6. Finally, delete the user
-        PreparedStatement ps = connection.prepareStatement(
-            "DELETE FROM users WHERE id = ?");
-        ps.setInt(1, userId);
-        int result = ps.executeUpdate();
-        ps.close();
+        // Everything goes in one transaction, so job_stats never disagrees with applications
+        int result;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                // Delete all related data first (in order to avoid foreign key issues)
+                // 1. Delete user sessions
+                deleteByUsername(conn, "user_sessions", username);
+                
+                // 2. Delete applications, then recount the jobs they were for
+                List<Integer> appliedJobs = new ArrayList<>();
+                try (PreparedStatement findJobs = conn.prepareStatement(
+                        "SELECT DISTINCT job_id FROM applications WHERE username = ? AND job_id IS NOT NULL")) {
+                    findJobs.setString(1, username);
+                    try (ResultSet jobsRs = findJobs.executeQuery()) {
+                        while (jobsRs.next()) {
+                            appliedJobs.add(jobsRs.getInt(1));
+                        }
+                    }
+                }
+                deleteByUsername(conn, "applications", username);
+                JobStats.rebuild(conn, appliedJobs);
+                
+                // 3. Delete notifications
+                deleteByUsername(conn, "notifications", username);
+                deleteByUsername(conn, "notifications_archive", username);
+                
+                // 4. Delete resume
+                deleteByUsername(conn, "resumes", username);
+                
+                // 5. Delete contact messages
+                deleteByUsername(conn, "contact_messages", username);
+                
+                // 6. Finally, delete the user
+                try (PreparedStatement ps = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
+                    ps.setInt(1, userId);
+                    result = ps.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        invalidateUserCaches(username);
         return result > 0;
     }
     
+    private static void deleteByUsername(Connection conn, String table, String username) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM " + table + " WHERE username = ?")) {
+            ps.setString(1, username);
+            ps.executeUpdate();
+        }
+    }
+    
     public int deleteAllUsersExceptAdmin() throws SQLException {
+        flushNotifications();
+        
         // Get all usernames except admin
         Statement stmt = connection.createStatement();
         ResultSet rs = stmt.executeQuery(
@@ -293,6 +461,11 @@ public class DatabaseManager {
                 deleteNotifications.setString(1, username);
                 deleteNotifications.executeUpdate();
                 deleteNotifications.close();
+                PreparedStatement deleteArchived = connection.prepareStatement(
+                    "DELETE FROM notifications_archive WHERE username = ?");
+                deleteArchived.setString(1, username);
+                deleteArchived.executeUpdate();
+                deleteArchived.close();
                 
                 // 4. Delete resume
                 PreparedStatement deleteResume = connection.prepareStatement(
@@ -321,25 +494,153 @@ public class DatabaseManager {
             }
         }
         rs.close();
+        // Only the admin's applications are left; recount every job in one pass
+        JobStats.rebuildAll(stmt);
         stmt.close();
+        resumes.invalidateAll();
+        users.invalidateAll();
+        userApplications.invalidateAll();
+        userMessages.invalidateAll();
         return deletedCount;
     }
     
+    private void invalidateUserCaches(String username) {
+        resumes.invalidate(username);
+        users.invalidate(username);
+        userApplications.invalidate(username);
+        userMessages.invalidate(username);
+    }
+    
     public String validateLogin(String username, String password) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT role FROM users WHERE username = ? AND password = ?");
+        return login(username, password);
+    }
+    
+    /**
+     * Validates the credentials and records the new session, all on one pooled
+     * connection. The password check runs on the hashing executor with no
+     * transaction open; the transaction then re-reads the user's row FOR UPDATE
+     * and, if the stored password is still the one checked, upgrades a legacy
+     * or under-cost hash and records the session. If the password changed in
+     * between, the check is repeated against the new value.
+     * Returns the user's role, or null if the credentials are invalid.
+     */
+    public String login(String username, String password) throws SQLException {
+        try (Connection conn = openConnection()) {
+            String[] credentials = findCredentials(conn, username, false);
+            for (int attempt = 0; attempt < LOGIN_ATTEMPTS && credentials != null; attempt++) {
+                PasswordHasher hasher = PasswordHasher.getInstance();
+                String rehash;
+                try {
+                    if (!hasher.verify(password, credentials[1])) return null;
+                    rehash = hasher.needsRehash(credentials[1]) ? hasher.hash(password) : null;
+                } catch (IllegalStateException e) {
+                    throw new SQLException(e.getMessage(), e);
+                }
+                
+                String[] current = recordLoginTransaction(conn, username, credentials, rehash);
+                if (current == credentials) return credentials[0];
+                credentials = current;
+            }
+            return null;
+        }
+    }
+    
+    /**
+     * Checks credentials without recording a session (API requests).
+     * Returns the user's role, or null if the credentials are invalid.
+     */
+    public String verifyCredentials(String username, String password) throws SQLException {
+        String[] credentials = getCredentials(username);
+        return credentials != null && passwordMatches(password, credentials[1]) ? credentials[0] : null;
+    }
+    
+    /**
+     * The user's role and stored password hash, or null if there is no such user. Does
+     * no hashing, so callers that cache a verified password can cheaply see it still holds.
+     */
+    public String[] getCredentials(String username) throws SQLException {
+        try (Connection conn = openConnection()) {
+            return findCredentials(conn, username, false);
+        }
+    }
+    
+    /**
+     * Whether the password matches a stored hash from getCredentials (slow by design).
+     */
+    public boolean passwordMatches(String password, String storedHash) throws SQLException {
+        try {
+            return PasswordHasher.getInstance().verify(password, storedHash);
+        } catch (IllegalStateException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+    
+    private static String[] findCredentials(Connection conn, String username, boolean forUpdate) throws SQLException {
+        PreparedStatement ps = prepareCached(conn, forUpdate
+            ? "SELECT role, password FROM users WHERE username = ? FOR UPDATE"
+            : "SELECT role, password FROM users WHERE username = ?");
         ps.setString(1, username);
-        ps.setString(2, password);
-        ResultSet rs = ps.executeQuery();
-        String role = null;
-        if (rs.next()) {
-            role = rs.getString("role");
-            // Record login session
-            recordLogin(username);
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? new String[]{rs.getString("role"), rs.getString("password")} : null;
+        }
+    }
+    
+    /**
+     * Records the session in one transaction if the stored password is still the one in
+     * checked, and returns checked. Otherwise rolls back and returns the user's current
+     * credentials, or null if the user is gone.
+     */
+    private static String[] recordLoginTransaction(Connection conn, String username, String[] checked,
+            String rehash) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            String[] current = findCredentials(conn, username, true);
+            if (current == null || !current[1].equals(checked[1])) {
+                conn.rollback();
+                return current;
+            }
+            
+            // Lazy migration to the current hash format, only over the value that was checked:
+            // no rows means someone else changed the password meanwhile
+            if (rehash != null) {
+                PreparedStatement rehashPs = prepareCached(conn,
+                    "UPDATE users SET password = ? WHERE username = ? AND password = ?");
+                rehashPs.setString(1, rehash);
+                rehashPs.setString(2, username);
+                rehashPs.setString(3, checked[1]);
+                if (rehashPs.executeUpdate() == 0) {
+                    conn.rollback();
+                    return findCredentials(conn, username, false);
+                }
+            }
+            
+            // Mark previous sessions as inactive
+            PreparedStatement updatePs = prepareCached(conn,
+                "UPDATE user_sessions SET is_active = 0 WHERE username = ? AND is_active = 1");
+            updatePs.setString(1, username);
+            updatePs.executeUpdate();
+            
+            // Create new active session
+            PreparedStatement insertPs = prepareCached(conn, "INSERT INTO user_sessions (username, is_active) VALUES (?, 1)");
+            insertPs.setString(1, username);
+            insertPs.executeUpdate();
+            
+            conn.commit();
+            return checked;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+    
+    private String hashPassword(String password) throws SQLException {
+        try {
+            return PasswordHasher.getInstance().hash(password);
+        } catch (IllegalStateException e) {
+            throw new SQLException(e.getMessage(), e);
         }
-        rs.close();
-        ps.close();
-        return role;
     }
     
     public void recordLogin(String username) throws SQLException {
@@ -388,44 +689,180 @@ public class DatabaseManager {
         return jobs;
     }
     
+    /**
+     * One page of jobs, newest first (same order as getAllJobs).
+     */
+    public List<String[]> getJobsPage(int offset, int limit) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, title, company, location, salary, description FROM jobs ORDER BY id DESC LIMIT ? OFFSET ?")) {
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            List<String[]> jobs = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    jobs.add(new String[]{
+                        String.valueOf(rs.getInt("id")),
+                        rs.getString("title"),
+                        rs.getString("company"),
+                        rs.getString("location"),
+                        rs.getString("salary"),
+                        rs.getString("description")
+                    });
+                }
+            }
+            return jobs;
+        }
+    }
+    
+    public int getJobCount() throws SQLException {
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM jobs")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
     public int addJob(String title, String company, String location, String salary, String description) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "INSERT INTO jobs (title, company, location, salary, description) VALUES (?, ?, ?, ?, ?)",
-            Statement.RETURN_GENERATED_KEYS);
-        ps.setString(1, title);
-        ps.setString(2, company);
-        ps.setString(3, location);
-        ps.setString(4, salary);
-        ps.setString(5, description);
-        ps.executeUpdate();
-        
-        ResultSet rs = ps.getGeneratedKeys();
-        int newId = rs.next() ? rs.getInt(1) : -1;
-        rs.close();
-        ps.close();
-        return newId;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO jobs (title, company, location, salary, description) VALUES (?, ?, ?, ?, ?)",
+                    Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, title);
+                ps.setString(2, company);
+                ps.setString(3, location);
+                ps.setString(4, salary);
+                ps.setString(5, description);
+                ps.executeUpdate();
+                int newId;
+                try (ResultSet rs = ps.getGeneratedKeys()) {
+                    newId = rs.next() ? rs.getInt(1) : -1;
+                }
+                long version = bumpJobsVersion(conn);
+                conn.commit();
+                jobsVersionWritten(version);
+                return newId;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
     }
     
     public boolean updateJob(int id, String title, String company, String location, String salary, String description) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "UPDATE jobs SET title = ?, company = ?, location = ?, salary = ?, description = ? WHERE id = ?");
-        ps.setString(1, title);
-        ps.setString(2, company);
-        ps.setString(3, location);
-        ps.setString(4, salary);
-        ps.setString(5, description);
-        ps.setInt(6, id);
-        int result = ps.executeUpdate();
-        ps.close();
-        return result > 0;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "UPDATE jobs SET title = ?, company = ?, location = ?, salary = ?, description = ? WHERE id = ?")) {
+                ps.setString(1, title);
+                ps.setString(2, company);
+                ps.setString(3, location);
+                ps.setString(4, salary);
+                ps.setString(5, description);
+                ps.setInt(6, id);
+                if (ps.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                // Keep the copied title/company in step so applications still read correctly
+                try (PreparedStatement sync = conn.prepareStatement(
+                        "UPDATE applications SET job_title = ?, company = ? WHERE job_id = ?")) {
+                    sync.setString(1, title);
+                    sync.setString(2, company);
+                    sync.setInt(3, id);
+                    sync.executeUpdate();
+                }
+                long version = bumpJobsVersion(conn);
+                conn.commit();
+                jobsVersionWritten(version);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        userApplications.invalidateAll();
+        return true;
     }
     
     public boolean deleteJob(int id) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement("DELETE FROM jobs WHERE id = ?");
-        ps.setInt(1, id);
-        int result = ps.executeUpdate();
-        ps.close();
-        return result > 0;
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement("DELETE FROM jobs WHERE id = ?")) {
+                ps.setInt(1, id);
+                if (ps.executeUpdate() == 0) {
+                    conn.rollback();
+                    return false;
+                }
+                long version = bumpJobsVersion(conn);
+                conn.commit();
+                jobsVersionWritten(version);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        // Applications for the job lose their job_id
+        userApplications.invalidateAll();
+        return true;
+    }
+    
+    /**
+     * Bumps the shared jobs version inside the caller's transaction and returns the new value.
+     */
+    private static long bumpJobsVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("UPDATE data_versions SET version = version + 1 WHERE name = 'jobs'");
+            try (ResultSet rs = stmt.executeQuery("SELECT version FROM data_versions WHERE name = 'jobs'")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+    
+    private void jobsVersionWritten(long version) {
+        jobsVersion.accumulateAndGet(version, Math::max);
+        jobsVersionCheckedAt = System.nanoTime();
+    }
+    
+    /**
+     * Current version of the jobs table, shared by every process using the database.
+     * Writes through this DatabaseManager show up at once; writes by other processes
+     * within joblisting.api.jobsVersionTtlMillis (default 1 s).
+     */
+    public long getJobsVersion() throws SQLException {
+        long now = System.nanoTime();
+        if (now - jobsVersionCheckedAt < JOBS_VERSION_TTL_NANOS) {
+            return jobsVersion.get();
+        }
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT version FROM data_versions WHERE name = 'jobs'")) {
+            long version = jobsVersion.accumulateAndGet(rs.next() ? rs.getLong(1) : 0, Math::max);
+            jobsVersionCheckedAt = now;
+            return version;
+        }
+    }
+    
+    /**
+     * A single job as {id, title, company, location, salary, description}, or null.
+     */
+    public String[] getJob(int id) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, title, company, location, salary, description FROM jobs WHERE id = ?")) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+                return new String[]{
+                    String.valueOf(rs.getInt("id")),
+                    rs.getString("title"),
+                    rs.getString("company"),
+                    rs.getString("location"),
+                    rs.getString("salary"),
+                    rs.getString("description")
+                };
+            }
+        }
     }
     
     // ============== APPLICATION OPERATIONS ==============
@@ -439,11 +876,16 @@ public class DatabaseManager {
         return count;
     }
     
+    /**
+     * All applications, newest first. Cover letters are not loaded: column 7 only says
+     * whether there is one (see openCoverLetter).
+     */
     public List<Object[]> getAllApplications() throws SQLException {
         List<Object[]> apps = new ArrayList<>();
         Statement stmt = connection.createStatement();
         ResultSet rs = stmt.executeQuery(
-            "SELECT id, username, job_title, company, applicant_name, email, phone, cover_letter, status, applied_at " +
+            "SELECT id, username, job_title, company, applicant_name, email, phone, " +
+            "cover_letter IS NOT NULL AS has_cover_letter, status, applied_at, job_id " +
             "FROM applications ORDER BY applied_at DESC");
         while (rs.next()) {
             apps.add(new Object[]{
@@ -454,9 +896,10 @@ public class DatabaseManager {
                 rs.getString("applicant_name"),
                 rs.getString("email"),
                 rs.getString("phone"),
-                rs.getString("cover_letter"),
+                rs.getBoolean("has_cover_letter"),
                 rs.getString("status"),
-                rs.getString("applied_at")
+                rs.getString("applied_at"),
+                rs.getObject("job_id")
             });
         }
         rs.close();
@@ -464,66 +907,362 @@ public class DatabaseManager {
         return apps;
     }
     
+    /**
+     * One page of all applications, newest first (same rows as getAllApplications).
+     */
+    public List<Object[]> getApplicationsPage(int offset, int limit) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, username, job_title, company, applicant_name, email, phone, " +
+                 "cover_letter IS NOT NULL AS has_cover_letter, status, applied_at, job_id " +
+                 "FROM applications ORDER BY applied_at DESC, id DESC LIMIT ? OFFSET ?")) {
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            List<Object[]> apps = new ArrayList<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    apps.add(new Object[]{
+                        rs.getInt("id"),
+                        rs.getString("username"),
+                        rs.getString("job_title"),
+                        rs.getString("company"),
+                        rs.getString("applicant_name"),
+                        rs.getString("email"),
+                        rs.getString("phone"),
+                        rs.getBoolean("has_cover_letter"),
+                        rs.getString("status"),
+                        rs.getString("applied_at"),
+                        rs.getObject("job_id")
+                    });
+                }
+            }
+            return apps;
+        }
+    }
+    
+    /**
+     * Streams an application's cover letter, or returns null if it has none. The reader
+     * holds a pooled connection until it is closed.
+     */
+    public Reader openCoverLetter(int appId) throws SQLException {
+        Connection conn = openConnection();
+        try {
+            PreparedStatement ps = conn.prepareStatement("SELECT cover_letter FROM applications WHERE id = ?");
+            ps.setInt(1, appId);
+            ResultSet rs = ps.executeQuery();
+            Blob blob = rs.next() ? rs.getBlob(1) : null;
+            if (blob == null) {
+                rs.close();
+                ps.close();
+                conn.close();
+                return null;
+            }
+            return CompressedText.reader(blob.getBinaryStream(), () -> {
+                try {
+                    rs.close();
+                    ps.close();
+                } finally {
+                    conn.close();
+                }
+            });
+        } catch (IOException e) {
+            conn.close();
+            throw new SQLException("Error reading cover letter: " + e.getMessage(), e);
+        } catch (SQLException | RuntimeException e) {
+            conn.close();
+            throw e;
+        }
+    }
+    
+    public int getApplicationCount() throws SQLException {
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM applications")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Number of applications for one job (an index lookup on job_id).
+     */
+    public int getApplicationCount(int jobId) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM applications WHERE job_id = ?")) {
+            ps.setInt(1, jobId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+    
+    // ============== JOB STATISTICS ==============
+    
+    /**
+     * Applicant statistics for all jobs, keyed by job id. Jobs without
+     * applications are missing (use JobStats.EMPTY). Reads only the stats tables.
+     */
+    public Map<Integer, JobStats> getJobStats() throws SQLException {
+        return JobStats.loadAll(connection);
+    }
+    
+    /**
+     * Applications per day for one job over the last days, as {java.sql.Date, count}.
+     */
+    public List<Object[]> getApplicationsPerDay(int jobId, int days) throws SQLException {
+        return JobStats.loadDaily(connection, jobId, days);
+    }
+    
+    // ============== ANALYTICS ==============
+    
+    /**
+     * Counts per hour (hourly) or day for the given number of buckets starting at from.
+     * The analytics reads use pooled connections, so the dashboard can run them together.
+     */
+    public int[] getAnalyticsSeries(String metric, boolean hourly, Timestamp from, int buckets) throws SQLException {
+        try (Connection conn = openConnection()) {
+            return AnalyticsRollups.series(conn, metric,
+                hourly ? AnalyticsRollups.HOURLY : AnalyticsRollups.DAILY, from, buckets);
+        }
+    }
+    
+    /**
+     * Totals per dimension (status, location, company) since from, largest first.
+     */
+    public Map<String, Integer> getAnalyticsTotals(String metric, boolean hourly, Timestamp from, int limit)
+            throws SQLException {
+        try (Connection conn = openConnection()) {
+            return AnalyticsRollups.totals(conn, metric,
+                hourly ? AnalyticsRollups.HOURLY : AnalyticsRollups.DAILY, from, limit);
+        }
+    }
+    
+    public Timestamp getAnalyticsUpdatedAt() throws SQLException {
+        try (Connection conn = openConnection()) {
+            return AnalyticsRollups.lastCompacted(conn);
+        }
+    }
+    
+    /**
+     * Recomputes recent rollups now instead of waiting for the schedule.
+     */
+    public void refreshAnalytics() throws SQLException {
+        if (analyticsRollups != null) {
+            analyticsRollups.compact();
+        }
+    }
+    
+    /**
+     * The user's applications, newest first. Cached; the list is read-only.
+     */
     public List<Object[]> getUserApplications(String username) throws SQLException {
+        return userApplications.get(username, this::loadUserApplications);
+    }
+    
+    private List<Object[]> loadUserApplications(String username) throws SQLException {
         List<Object[]> apps = new ArrayList<>();
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT id, job_title, company, applicant_name, email, status, applied_at " +
-            "FROM applications WHERE username = ? ORDER BY applied_at DESC");
-        ps.setString(1, username);
-        ResultSet rs = ps.executeQuery();
-        while (rs.next()) {
-            apps.add(new Object[]{
-                rs.getInt("id"),
-                rs.getString("job_title"),
-                rs.getString("company"),
-                rs.getString("applicant_name"),
-                rs.getString("email"),
-                rs.getString("status"),
-                rs.getString("applied_at")
-            });
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, job_title, company, applicant_name, email, status, applied_at, job_id " +
+                 "FROM applications WHERE username = ? ORDER BY applied_at DESC")) {
+            ps.setString(1, username);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                apps.add(new Object[]{
+                    rs.getInt("id"),
+                    rs.getString("job_title"),
+                    rs.getString("company"),
+                    rs.getString("applicant_name"),
+                    rs.getString("email"),
+                    rs.getString("status"),
+                    rs.getString("applied_at"),
+                    rs.getObject("job_id")
+                });
+            }
+            return Collections.unmodifiableList(apps);
         }
-        rs.close();
-        ps.close();
-        return apps;
     }
     
-    public boolean addApplication(String username, String jobTitle, String company, 
-                                  String name, String email, String phone, String coverLetter) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "INSERT INTO applications (username, job_title, company, applicant_name, email, phone, cover_letter) " +
-            "VALUES (?, ?, ?, ?, ?, ?, ?)");
-        ps.setString(1, username);
-        ps.setString(2, jobTitle);
-        ps.setString(3, company);
-        ps.setString(4, name);
-        ps.setString(5, email);
-        ps.setString(6, phone);
-        ps.setString(7, coverLetter);
-        int result = ps.executeUpdate();
-        ps.close();
+    /**
+     * Applies for a job by id. The job's current title and company are copied
+     * onto the application for display; job_id is the reference. A user applies
+     * for a job once: if they already did, returns the existing application
+     * (created = false) without writing anything.
+     */
+    public ApplicationReceipt addApplication(String username, int jobId, 
+                                             String name, String email, String phone, String coverLetter) throws SQLException {
+        String key = applicationKey(username, jobId);
+        ApplicationReceipt existing = findApplication(key);
+        if (existing != null) return existing;
         
-        // Notify admin about new application
-        if (result > 0) {
-            String adminMessage = "New application from " + name + " (" + username + ") for job: " + jobTitle;
-            addNotification("admin", jobTitle, adminMessage, "Pending");
+        String[] job = getJob(jobId);
+        if (job == null) {
+            throw new SQLException("This job is no longer available.");
+        }
+        String jobTitle = job[1];
+        // Only applications that would be written use up a permit
+        rateLimiter.acquire(RateLimiter.Operation.APPLICATION, username);
+        int appId;
+        // The application and its job's counters change together
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO applications (username, job_id, job_title, company, applicant_name, email, phone, " +
+                    "cover_letter, dedupe_key) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+                ps.setString(1, username);
+                ps.setInt(2, jobId);
+                ps.setString(3, jobTitle);
+                ps.setString(4, job[2]);
+                ps.setString(5, name);
+                ps.setString(6, email);
+                ps.setString(7, phone);
+                ps.setBytes(8, CompressedText.encode(coverLetter));
+                ps.setString(9, key);
+                ps.executeUpdate();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    keys.next();
+                    appId = keys.getInt(1);
+                }
+                JobStats.recordApplication(conn, jobId);
+                conn.commit();
+                userApplications.invalidate(username);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            // A concurrent submit of the same application won the unique index
+            // (looked up once the connection is back in the pool)
+            if ("23505".equals(e.getSQLState())) {
+                existing = findApplication(key);
+                if (existing != null) return existing;
+            }
+            throw e;
         }
         
-        return result > 0;
+        // Notify admin about new application; one digest per job while unread
+        String adminMessage = "New application from " + name + " (" + username + ") for job: " + jobTitle;
+        addDigestNotification("admin", jobId, jobTitle, adminMessage, "Pending",
+            "applications:" + jobId, "{count} new applications for " + jobTitle + " (latest from " + name + ")");
+        
+        return new ApplicationReceipt(appId, "Pending", new Timestamp(System.currentTimeMillis()), true);
+    }
+    
+    /**
+     * The user's application for a job, or null if they have not applied.
+     */
+    public ApplicationReceipt findApplication(String username, int jobId) throws SQLException {
+        return findApplication(applicationKey(username, jobId));
+    }
+    
+    private ApplicationReceipt findApplication(String key) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT id, status, applied_at FROM applications WHERE dedupe_key = ?")) {
+            ps.setString(1, key);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new ApplicationReceipt(rs.getInt(1), rs.getString(2), rs.getTimestamp(3), false) : null;
+            }
+        }
+    }
+    
+    /**
+     * Unique key of a user's application for a job (applications.dedupe_key):
+     * a fixed-length SHA-256 of the pair, so the unique index stays narrow.
+     */
+    static String applicationKey(String username, int jobId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest((username + "\n" + jobId).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE has SHA-256
+        }
     }
     
     public boolean updateApplicationStatus(int appId, String status) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "UPDATE applications SET status = ? WHERE id = ?");
-        ps.setString(1, status);
-        ps.setInt(2, appId);
-        int result = ps.executeUpdate();
-        ps.close();
-        return result > 0;
+        return changeApplicationStatus(Collections.singletonList(appId), status, false, null) > 0;
+    }
+    
+    /**
+     * Sets the status of many applications and notifies each applicant in one
+     * transaction, using batched statements on a separate connection. Progress is
+     * reported after each chunk with the number of applications processed so far.
+     * Returns the number of applications updated.
+     */
+    public int bulkUpdateApplicationStatus(List<Integer> appIds, String status, IntConsumer progress) throws SQLException {
+        return changeApplicationStatus(appIds, status, true, progress);
+    }
+    
+    private int changeApplicationStatus(List<Integer> appIds, String status, boolean notify,
+                                        IntConsumer progress) throws SQLException {
+        final int chunkSize = 500;
+        boolean decision = !"Pending".equals(status);
+        int updated = 0;
+        Set<String> applicants = new HashSet<>();
+        try (Connection conn = openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement lockPs = conn.prepareStatement(
+                     "SELECT id, job_id, status, decided_at IS NULL, DATEDIFF('SECOND', applied_at, CURRENT_TIMESTAMP), username " +
+                     "FROM applications WHERE id = ANY(?) FOR UPDATE");
+                 PreparedStatement updatePs = conn.prepareStatement(
+                     "UPDATE applications SET status = ?, " +
+                     "decided_at = COALESCE(decided_at, CASE WHEN ? THEN CURRENT_TIMESTAMP END) WHERE id = ?");
+                 PreparedStatement notifyPs = conn.prepareStatement(
+                     "INSERT INTO notifications (username, job_id, job_title, message, status) " +
+                     "SELECT username, job_id, job_title, CONCAT('Your application for ''', job_title, ''' has been ', ?, '.'), ? " +
+                     "FROM applications WHERE id = ?")) {
+                for (int start = 0; start < appIds.size(); start += chunkSize) {
+                    int end = Math.min(start + chunkSize, appIds.size());
+                    
+                    // Lock the rows and work out how each job's counters move
+                    Map<Integer, JobStats.Delta> deltas = new HashMap<>();
+                    lockPs.setObject(1, appIds.subList(start, end).toArray(new Integer[0]));
+                    try (ResultSet rs = lockPs.executeQuery()) {
+                        while (rs.next()) {
+                            applicants.add(rs.getString(6));
+                            Object jobId = rs.getObject(2);
+                            String previous = rs.getString(3);
+                            if (jobId == null || status.equals(previous)) continue;
+                            deltas.computeIfAbsent(((Number) jobId).intValue(), id -> new JobStats.Delta())
+                                .statusChanged(previous, status, rs.getLong(5), decision && rs.getBoolean(4));
+                        }
+                    }
+                    
+                    for (int i = start; i < end; i++) {
+                        updatePs.setString(1, status);
+                        updatePs.setBoolean(2, decision);
+                        updatePs.setInt(3, appIds.get(i));
+                        updatePs.addBatch();
+                        
+                        if (notify) {
+                            notifyPs.setString(1, status.toLowerCase());
+                            notifyPs.setString(2, status);
+                            notifyPs.setInt(3, appIds.get(i));
+                            notifyPs.addBatch();
+                        }
+                    }
+                    for (int count : updatePs.executeBatch()) {
+                        if (count > 0 || count == Statement.SUCCESS_NO_INFO) updated++;
+                    }
+                    if (notify) notifyPs.executeBatch();
+                    JobStats.apply(conn, deltas);
+                    if (progress != null) progress.accept(end);
+                }
+                conn.commit();
+                for (String applicant : applicants) {
+                    userApplications.invalidate(applicant);
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return updated;
     }
     
     // ============== NOTIFICATION OPERATIONS ==============
     
     public int getUnreadNotificationCount(String username) throws SQLException {
+        flushNotifications();
         PreparedStatement ps = connection.prepareStatement(
             "SELECT COUNT(*) FROM notifications WHERE username = ? AND is_read = 0");
         ps.setString(1, username);
@@ -535,6 +1274,7 @@ public class DatabaseManager {
     }
     
     public List<Object[]> getUnreadNotifications(String username) throws SQLException {
+        flushNotifications();
         List<Object[]> notifications = new ArrayList<>();
         PreparedStatement ps = connection.prepareStatement(
             "SELECT id, job_title, message, status, created_at FROM notifications " +
@@ -555,12 +1295,46 @@ public class DatabaseManager {
         return notifications;
     }
     
+    /**
+     * Returns the most recent INBOX_LIMIT notifications; use getOlderNotifications for the rest.
+     */
     public List<Object[]> getAllNotifications(String username) throws SQLException {
+        flushNotifications();
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, job_title, message, status, is_read, created_at FROM notifications " +
+                 "WHERE username = ? ORDER BY created_at DESC, id DESC LIMIT ?")) {
+            ps.setString(1, username);
+            ps.setInt(2, INBOX_LIMIT);
+            return readNotifications(ps);
+        }
+    }
+    
+    /**
+     * Pages through notifications older than the given id, live and archived.
+     * Pass the smallest id already shown; results are newest first.
+     */
+    public List<Object[]> getOlderNotifications(String username, int beforeId, int limit) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, job_title, message, status, is_read, created_at FROM (" +
+                 "SELECT id, job_title, message, status, is_read, created_at FROM notifications " +
+                 "WHERE username = ? AND id < ? " +
+                 "UNION ALL " +
+                 "SELECT id, job_title, message, status, is_read, created_at FROM notifications_archive " +
+                 "WHERE username = ? AND id < ?) " +
+                 "ORDER BY id DESC LIMIT ?")) {
+            ps.setString(1, username);
+            ps.setInt(2, beforeId);
+            ps.setString(3, username);
+            ps.setInt(4, beforeId);
+            ps.setInt(5, limit);
+            return readNotifications(ps);
+        }
+    }
+    
+    private List<Object[]> readNotifications(PreparedStatement ps) throws SQLException {
         List<Object[]> notifications = new ArrayList<>();
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT id, job_title, message, status, is_read, created_at FROM notifications " +
-            "WHERE username = ? ORDER BY created_at DESC");
-        ps.setString(1, username);
         ResultSet rs = ps.executeQuery();
         while (rs.next()) {
             notifications.add(new Object[]{
@@ -573,22 +1347,53 @@ public class DatabaseManager {
             });
         }
         rs.close();
-        ps.close();
         return notifications;
     }
     
+    /**
+     * Queues a notification on the write-behind writer; it is inserted within a few
+     * milliseconds. Falls back to a direct insert if the writer is not running.
+     */
     public boolean addNotification(String username, String jobTitle, String message, String status) throws SQLException {
+        return addNotification(username, null, jobTitle, message, status);
+    }
+    
+    /**
+     * Same as above for a notification about a job; jobId may be null (e.g. contact messages).
+     */
+    public boolean addNotification(String username, Integer jobId, String jobTitle, String message, String status) throws SQLException {
+        if (notificationWriter != null) {
+            notificationWriter.enqueue(username, jobId, jobTitle, message, status);
+            return true;
+        }
         PreparedStatement ps = connection.prepareStatement(
-            "INSERT INTO notifications (username, job_title, message, status) VALUES (?, ?, ?, ?)");
+            "INSERT INTO notifications (username, job_id, job_title, message, status) VALUES (?, ?, ?, ?, ?)");
         ps.setString(1, username);
-        ps.setString(2, jobTitle);
-        ps.setString(3, message);
-        ps.setString(4, status);
+        ps.setObject(2, jobId, java.sql.Types.INTEGER);
+        ps.setString(3, jobTitle);
+        ps.setString(4, message);
+        ps.setString(5, status);
         int result = ps.executeUpdate();
         ps.close();
         return result > 0;
     }
     
+    /**
+     * Same as addNotification, but merged into the user's unread notification with the
+     * same digest key if there is one; {count} in the template becomes the event count.
+     */
+    public void addDigestNotification(String username, Integer jobId, String jobTitle, String message, String status,
+                                      String digestKey, String digestTemplate) throws SQLException {
+        if (notificationWriter != null) {
+            notificationWriter.enqueue(username, jobId, jobTitle, message, status, digestKey, digestTemplate);
+            return;
+        }
+        synchronized (this) {
+            NotificationWriter.write(connection, Collections.singletonList(
+                new Object[]{username, jobId, jobTitle, message, status, digestKey, digestTemplate}));
+        }
+    }
+    
     public boolean markNotificationAsRead(int notificationId) throws SQLException {
         PreparedStatement ps = connection.prepareStatement(
             "UPDATE notifications SET is_read = 1 WHERE id = ?");
@@ -599,8 +1404,10 @@ public class DatabaseManager {
     }
     
     public boolean markAllNotificationsAsRead(String username) throws SQLException {
+        flushNotifications();
+        // Only touch unread rows, not the whole history
         PreparedStatement ps = connection.prepareStatement(
-            "UPDATE notifications SET is_read = 1 WHERE username = ?");
+            "UPDATE notifications SET is_read = 1 WHERE username = ? AND is_read = 0");
         ps.setString(1, username);
         int result = ps.executeUpdate();
         ps.close();
@@ -609,94 +1416,79 @@ public class DatabaseManager {
     
     // ============== RESUME OPERATIONS ==============
     
-    public boolean saveOrUpdateResume(String username, String fullName, String email, String phone,
+    public synchronized boolean saveOrUpdateResume(String username, String fullName, String email, String phone,
                                      String address, String education, String experience, 
                                      String skills, String summary) throws SQLException {
-        // Check if resume exists
-        PreparedStatement checkPs = connection.prepareStatement(
-            "SELECT COUNT(*) FROM resumes WHERE username = ?");
-        checkPs.setString(1, username);
-        ResultSet rs = checkPs.executeQuery();
-        boolean exists = rs.next() && rs.getInt(1) > 0;
-        rs.close();
-        checkPs.close();
-        
-        if (exists) {
-            // Update existing resume
-            PreparedStatement ps = connection.prepareStatement(
-                "UPDATE resumes SET full_name = ?, email = ?, phone = ?, address = ?, " +
-                "education = ?, experience = ?, skills = ?, summary = ?, updated_at = CURRENT_TIMESTAMP " +
-                "WHERE username = ?");
-            ps.setString(1, fullName);
-            ps.setString(2, email);
-            ps.setString(3, phone);
-            ps.setString(4, address);
-            ps.setString(5, education);
-            ps.setString(6, experience);
-            ps.setString(7, skills);
-            ps.setString(8, summary);
-            ps.setString(9, username);
-            int result = ps.executeUpdate();
-            ps.close();
-            return result > 0;
-        } else {
-            // Insert new resume
-            PreparedStatement ps = connection.prepareStatement(
-                "INSERT INTO resumes (username, full_name, email, phone, address, education, experience, skills, summary) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)");
-            ps.setString(1, username);
-            ps.setString(2, fullName);
-            ps.setString(3, email);
-            ps.setString(4, phone);
-            ps.setString(5, address);
-            ps.setString(6, education);
-            ps.setString(7, experience);
-            ps.setString(8, skills);
-            ps.setString(9, summary);
-            int result = ps.executeUpdate();
-            ps.close();
-            return result > 0;
-        }
+        // Single atomic upsert keyed on the unique username
+        PreparedStatement ps = prepareCached(
+            "MERGE INTO resumes (username, full_name, email, phone, address, education, experience, skills, summary, updated_at) " +
+            "KEY (username) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)");
+        ps.setString(1, username);
+        ps.setString(2, fullName);
+        ps.setString(3, email);
+        ps.setString(4, phone);
+        ps.setString(5, address);
+        ps.setBytes(6, CompressedText.encode(education));
+        ps.setBytes(7, CompressedText.encode(experience));
+        ps.setBytes(8, CompressedText.encode(skills));
+        ps.setBytes(9, CompressedText.encode(summary));
+        int result = ps.executeUpdate();
+        resumes.invalidate(username);
+        return result > 0;
     }
     
+    /**
+     * Returns the user's resume, or null if none. Served from the resume cache
+     * after the first read; callers get their own copy of the row. The cache keeps
+     * the long sections (4-7) compressed and they are decoded per call.
+     */
     public Object[] getResume(String username) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT full_name, email, phone, address, education, experience, skills, summary " +
-            "FROM resumes WHERE username = ?");
-        ps.setString(1, username);
-        ResultSet rs = ps.executeQuery();
-        Object[] resume = null;
-        if (rs.next()) {
-            resume = new Object[]{
-                rs.getString("full_name"),
-                rs.getString("email"),
-                rs.getString("phone"),
-                rs.getString("address"),
-                rs.getString("education"),
-                rs.getString("experience"),
-                rs.getString("skills"),
-                rs.getString("summary")
-            };
+        Object[] resume = resumes.get(username, this::loadResume);
+        if (resume == null) return null;
+        Object[] copy = resume.clone();
+        for (int i = 4; i < copy.length; i++) {
+            copy[i] = CompressedText.decode((byte[]) copy[i]);
         }
-        rs.close();
-        ps.close();
-        return resume;
+        return copy;
     }
     
+    private Object[] loadResume(String username) throws SQLException {
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT full_name, email, phone, address, education, experience, skills, summary " +
+                 "FROM resumes WHERE username = ?")) {
+            ps.setString(1, username);
+            Object[] resume = null;
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    resume = new Object[]{
+                        rs.getString("full_name"),
+                        rs.getString("email"),
+                        rs.getString("phone"),
+                        rs.getString("address"),
+                        rs.getBytes("education"),
+                        rs.getBytes("experience"),
+                        rs.getBytes("skills"),
+                        rs.getBytes("summary")
+                    };
+                }
+            }
+            return resume;
+        }
+    }
+    
+    /**
+     * Whether the user has a resume. Answered from the resume cache (which also
+     * caches "no resume") without decoding any section.
+     */
     public boolean resumeExists(String username) throws SQLException {
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT COUNT(*) FROM resumes WHERE username = ?");
-        ps.setString(1, username);
-        ResultSet rs = ps.executeQuery();
-        boolean exists = rs.next() && rs.getInt(1) > 0;
-        rs.close();
-        ps.close();
-        return exists;
+        return resumes.get(username, this::loadResume) != null;
     }
     
     // ============== CONTACT MESSAGE OPERATIONS ==============
     
     public boolean addContactMessage(String username, String subject, String message, String email, String phone) throws SQLException {
+        rateLimiter.acquire(RateLimiter.Operation.CONTACT_MESSAGE, username);
         PreparedStatement ps = connection.prepareStatement(
             "INSERT INTO contact_messages (username, subject, message, email, phone) VALUES (?, ?, ?, ?, ?)");
         ps.setString(1, username);
@@ -706,70 +1498,82 @@ public class DatabaseManager {
         ps.setString(5, phone);
         int result = ps.executeUpdate();
         ps.close();
+        userMessages.invalidate(username);
         
-        // Notify admin about new contact message
+        // Notify admin about new contact message; unread ones are merged into one digest
         if (result > 0) {
             String adminMessage = "New contact message from " + username + ": " + subject;
-            addNotification("admin", "Contact Us", adminMessage, "New");
+            addDigestNotification("admin", null, "Contact Us", adminMessage, "New",
+                "contact", "{count} new contact messages (latest from " + username + ": " + subject + ")");
         }
         
         return result > 0;
     }
     
+    /**
+     * All contact messages, newest first. Reads on a pooled connection, so it can run
+     * alongside other loads (see DialogDataLoader).
+     */
     public List<Object[]> getAllContactMessages() throws SQLException {
         List<Object[]> messages = new ArrayList<>();
-        Statement stmt = connection.createStatement();
-        ResultSet rs = stmt.executeQuery(
-            "SELECT id, username, subject, message, email, phone, status, is_read, admin_response, created_at " +
-            "FROM contact_messages ORDER BY created_at DESC");
-        while (rs.next()) {
-            messages.add(new Object[]{
-                rs.getInt("id"),
-                rs.getString("username"),
-                rs.getString("subject"),
-                rs.getString("message"),
-                rs.getString("email"),
-                rs.getString("phone"),
-                rs.getString("status"),
-                rs.getInt("is_read"),
-                rs.getString("admin_response"),
-                rs.getString("created_at")
-            });
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT id, username, subject, message, email, phone, status, is_read, admin_response, created_at " +
+                 "FROM contact_messages ORDER BY created_at DESC")) {
+            while (rs.next()) {
+                messages.add(new Object[]{
+                    rs.getInt("id"),
+                    rs.getString("username"),
+                    rs.getString("subject"),
+                    rs.getString("message"),
+                    rs.getString("email"),
+                    rs.getString("phone"),
+                    rs.getString("status"),
+                    rs.getInt("is_read"),
+                    rs.getString("admin_response"),
+                    rs.getString("created_at")
+                });
+            }
         }
-        rs.close();
-        stmt.close();
         return messages;
     }
     
+    /**
+     * The user's contact messages, newest first. Cached; the list is read-only.
+     */
     public List<Object[]> getUserContactMessages(String username) throws SQLException {
+        return userMessages.get(username, this::loadUserContactMessages);
+    }
+    
+    private List<Object[]> loadUserContactMessages(String username) throws SQLException {
         List<Object[]> messages = new ArrayList<>();
-        PreparedStatement ps = connection.prepareStatement(
-            "SELECT id, subject, message, status, admin_response, created_at " +
-            "FROM contact_messages WHERE username = ? ORDER BY created_at DESC");
-        ps.setString(1, username);
-        ResultSet rs = ps.executeQuery();
-        while (rs.next()) {
-            messages.add(new Object[]{
-                rs.getInt("id"),
-                rs.getString("subject"),
-                rs.getString("message"),
-                rs.getString("status"),
-                rs.getString("admin_response"),
-                rs.getString("created_at")
-            });
+        try (Connection conn = openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT id, subject, message, status, admin_response, created_at " +
+                 "FROM contact_messages WHERE username = ? ORDER BY created_at DESC")) {
+            ps.setString(1, username);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                messages.add(new Object[]{
+                    rs.getInt("id"),
+                    rs.getString("subject"),
+                    rs.getString("message"),
+                    rs.getString("status"),
+                    rs.getString("admin_response"),
+                    rs.getString("created_at")
+                });
+            }
+            return Collections.unmodifiableList(messages);
         }
-        rs.close();
-        ps.close();
-        return messages;
     }
     
     public int getUnreadContactMessageCount() throws SQLException {
-        Statement stmt = connection.createStatement();
-        ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM contact_messages WHERE is_read = 0");
-        int count = rs.next() ? rs.getInt(1) : 0;
-        rs.close();
-        stmt.close();
-        return count;
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM contact_messages WHERE is_read = 0")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
     }
     
     public boolean markContactMessageAsRead(int messageId) throws SQLException {
@@ -790,16 +1594,19 @@ public class DatabaseManager {
         int result = ps.executeUpdate();
         ps.close();
         
-        // Notify user about response
-        if (result > 0 && adminResponse != null && !adminResponse.trim().isEmpty()) {
+        // Drop the sender's cached messages and notify them about a response
+        if (result > 0) {
             PreparedStatement getPs = connection.prepareStatement("SELECT username, subject FROM contact_messages WHERE id = ?");
             getPs.setInt(1, messageId);
             ResultSet rs = getPs.executeQuery();
             if (rs.next()) {
                 String username = rs.getString("username");
-                String subject = rs.getString("subject");
-                String userMessage = "Admin responded to your contact message: " + subject;
-                addNotification(username, "Contact Us", userMessage, status);
+                userMessages.invalidate(username);
+                if (adminResponse != null && !adminResponse.trim().isEmpty()) {
+                    String subject = rs.getString("subject");
+                    String userMessage = "Admin responded to your contact message: " + subject;
+                    addNotification(username, "Contact Us", userMessage, status);
+                }
             }
             rs.close();
             getPs.close();
@@ -810,49 +1617,50 @@ public class DatabaseManager {
     
     // ============== USER MANAGEMENT OPERATIONS ==============
     
+    /**
+     * Every user with their latest session. Reads on a pooled connection (see DialogDataLoader).
+     */
     public List<Object[]> getAllUsersWithSessions() throws SQLException {
         List<Object[]> users = new ArrayList<>();
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        Statement stmt = connection.createStatement();
-        // Get all users with their latest session info including passwords
-        ResultSet rs = stmt.executeQuery(
-            "SELECT u.id, u.username, u.password, u.role, " +
-            "COALESCE(MAX(CASE WHEN s.is_active = 1 THEN 'Online' END), 'Offline') as status, " +
-            "MAX(s.login_time) as last_login, " +
-            "MAX(s.logout_time) as last_logout " +
-            "FROM users u " +
-            "LEFT JOIN user_sessions s ON u.username = s.username " +
-            "GROUP BY u.id, u.username, u.password, u.role " +
-            "ORDER BY u.username");
-        
-        while (rs.next()) {
-            String status = rs.getString("status");
-            if (status == null) status = "Offline";
-            
-            String lastLogin = "Never";
-            Timestamp loginTs = rs.getTimestamp("last_login");
-            if (loginTs != null) {
-                lastLogin = dateFormat.format(loginTs);
-            }
-            
-            String lastLogout = "N/A";
-            Timestamp logoutTs = rs.getTimestamp("last_logout");
-            if (logoutTs != null) {
-                lastLogout = dateFormat.format(logoutTs);
+        // Get all users with their latest session info
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT u.id, u.username, u.role, " +
+                 "COALESCE(MAX(CASE WHEN s.is_active = 1 THEN 'Online' END), 'Offline') as status, " +
+                 "MAX(s.login_time) as last_login, " +
+                 "MAX(s.logout_time) as last_logout " +
+                 "FROM users u " +
+                 "LEFT JOIN user_sessions s ON u.username = s.username " +
+                 "GROUP BY u.id, u.username, u.role " +
+                 "ORDER BY u.username")) {
+            while (rs.next()) {
+                String status = rs.getString("status");
+                if (status == null) status = "Offline";
+                
+                String lastLogin = "Never";
+                Timestamp loginTs = rs.getTimestamp("last_login");
+                if (loginTs != null) {
+                    lastLogin = dateFormat.format(loginTs);
+                }
+                
+                String lastLogout = "N/A";
+                Timestamp logoutTs = rs.getTimestamp("last_logout");
+                if (logoutTs != null) {
+                    lastLogout = dateFormat.format(logoutTs);
+                }
+                
+                users.add(new Object[]{
+                    rs.getInt("id"),
+                    rs.getString("username"),
+                    rs.getString("role"),
+                    status,
+                    lastLogin,
+                    lastLogout
+                });
             }
-            
-            users.add(new Object[]{
-                rs.getInt("id"),
-                rs.getString("username"),
-                rs.getString("password"), // Include password
-                rs.getString("role"),
-                status,
-                lastLogin,
-                lastLogout
-            });
         }
-        rs.close();
-        stmt.close();
         return users;
     }
     
@@ -878,12 +1686,11 @@ public class DatabaseManager {
     }
     
     public int getActiveUserCount() throws SQLException {
-        Statement stmt = connection.createStatement();
-        ResultSet rs = stmt.executeQuery(
-            "SELECT COUNT(DISTINCT username) FROM user_sessions WHERE is_active = 1");
-        int count = rs.next() ? rs.getInt(1) : 0;
-        rs.close();
-        stmt.close();
-        return count;
+        try (Connection conn = openConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT COUNT(DISTINCT username) FROM user_sessions WHERE is_active = 1")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
     }
 }
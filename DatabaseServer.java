@@ -0,0 +1,90 @@
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import org.h2.tools.Server;
+
+/**
+ * DatabaseServer.java - Shared Database Server
+ *
+ * Headless process that hosts the job listing H2 database over TCP, so any
+ * number of desktop clients can share it without one of them owning the
+ * database file. It keeps one local connection open so the database stays
+ * open (and its cache warm) while no client is connected.
+ *
+ * Compile: javac -cp ".;h2-2.2.224.jar" *.java
+ * Run: java -cp ".;h2-2.2.224.jar" DatabaseServer [port] [baseDir]
+ *   JOBLISTING_DB_PASSWORD=...              required database password
+ *                                           (or -Djoblisting.db.password=...)
+ *   -Djoblisting.server.allowOthers=true    accept clients from other hosts
+ *                                           (default: local clients only)
+ *
+ * A database created before a password was required gets the configured
+ * password on the first start.
+ *
+ * Clients: java -Djoblisting.db.mode=server -Djoblisting.db.servers=host:9092[,standby:9092] ...
+ * with the same password (see DatabaseManager). Standby servers must serve the same data.
+ */
+public class DatabaseServer {
+
+    public static void main(String[] args) throws Exception {
+        String port = args.length > 0 ? args[0] : "9092";
+        String baseDir = args.length > 1 ? args[1] : ".";
+        String dbName = System.getProperty("joblisting.db.name", "job_listing");
+        boolean allowOthers = Boolean.parseBoolean(System.getProperty("joblisting.server.allowOthers", "false"));
+        String user = DatabaseManager.configuredUser();
+        String password = DatabaseManager.configuredPassword();
+        if (password.isEmpty()) {
+            System.err.println("Refusing to start: set JOBLISTING_DB_PASSWORD (or -Djoblisting.db.password) " +
+                "so clients must authenticate" + (allowOthers ? " before the server accepts remote connections." : "."));
+            System.exit(1);
+        }
+
+        // Create/open the database locally, before any client can connect
+        Class.forName("org.h2.Driver");
+        Connection keepOpen = openLocal("jdbc:h2:" + baseDir + "/" + dbName, user, password);
+
+        Server server = allowOthers
+            ? Server.createTcpServer("-tcpPort", port, "-baseDir", baseDir, "-tcpAllowOthers")
+            : Server.createTcpServer("-tcpPort", port, "-baseDir", baseDir);
+        server.start();
+        System.out.println("✓ Database server running at " + server.getURL() + "/" + dbName);
+
+        CountDownLatch stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            try {
+                keepOpen.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing database: " + e.getMessage());
+            }
+            System.out.println("✓ Database server stopped");
+            stopped.countDown();
+        }, "db-server-shutdown"));
+        stopped.await();
+    }
+
+    /**
+     * Opens the database with the configured password. A database still using the old
+     * empty password is opened with that once and switched to the configured one.
+     */
+    private static Connection openLocal(String url, String user, String password) throws SQLException {
+        try {
+            return DriverManager.getConnection(url, user, password);
+        } catch (SQLException e) {
+            Connection conn;
+            try {
+                conn = DriverManager.getConnection(url, user, "");
+            } catch (SQLException legacy) {
+                throw e;
+            }
+            try (PreparedStatement ps = conn.prepareStatement("ALTER USER \"" + user.toUpperCase() + "\" SET PASSWORD ?")) {
+                ps.setString(1, password);
+                ps.executeUpdate();
+            }
+            System.out.println("✓ Database password set for user " + user);
+            return conn;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javax.swing.SwingUtilities;
+
+/**
+ * DialogDataLoader.java - Concurrent Dialog Data Loading
+ *
+ * Runs the queries a dialog needs off the Event Dispatch Thread, all at
+ * once, so opening the dialog takes as long as its slowest query instead of
+ * the sum of them. Each result is handed to the dialog on the EDT as soon as
+ * it arrives; the dialog shows a loading state until then.
+ *
+ * The queries must not use DatabaseManager's shared connection (each one
+ * borrows a pooled connection). begin() discards loads still in flight, e.g.
+ * on refresh, and closing the dialog cancels them.
+ *
+ *   -Djoblisting.ui.loaderThreads=4
+ */
+public class DialogDataLoader {
+
+    /** A query run on a loader thread. */
+    public interface Query<T> {
+        T load() throws SQLException;
+    }
+
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+        Integer.getInteger("joblisting.ui.loaderThreads", 4), r -> {
+            Thread t = new Thread(r, "dialog-loader");
+            t.setDaemon(true);
+            return t;
+        });
+
+    // Confined to the EDT
+    private final List<Future<?>> pending = new ArrayList<>();
+    private int generation;
+    private boolean closed;
+
+    public DialogDataLoader(Window dialog) {
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                closed = true;
+                begin();
+            }
+        });
+    }
+
+    /**
+     * Starts a new round of loads: results of earlier loads still running are dropped.
+     */
+    public void begin() {
+        generation++;
+        for (Future<?> f : pending) {
+            f.cancel(false);
+        }
+        pending.clear();
+    }
+
+    /**
+     * Runs the query on a loader thread, then onLoaded (or onError) on the EDT. Unchecked
+     * exceptions from the query reach onError wrapped in an SQLException; without
+     * onError, failures are only logged.
+     */
+    public <T> void load(Query<T> query, Consumer<T> onLoaded, Consumer<SQLException> onError) {
+        if (closed) return;
+        int round = generation;
+        pending.add(executor.submit(() -> {
+            try {
+                T value = query.load();
+                deliver(round, () -> onLoaded.accept(value));
+            } catch (SQLException e) {
+                fail(round, e, onError);
+            } catch (RuntimeException e) {
+                fail(round, new SQLException(e.getMessage() != null ? e.getMessage() : e.toString(), e), onError);
+            }
+        }));
+    }
+
+    private void fail(int round, SQLException e, Consumer<SQLException> onError) {
+        if (onError != null) {
+            deliver(round, () -> onError.accept(e));
+        } else {
+            System.err.println("Error loading dialog data: " + e.getMessage());
+        }
+    }
+
+    private void deliver(int round, Runnable callback) {
+        SwingUtilities.invokeLater(() -> {
+            if (round == generation && !closed) {
+                callback.run();
+            }
+        });
+    }
+}
@@ -4,11 +4,21 @@ import javax.swing.table.*;
 import java.awt.*;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * DialogManager.java - Application Dialogs
@@ -64,7 +74,8 @@ public class DialogManager {
         JTable table = new JTable(model);
         table.setFont(AppTheme.FONT_TABLE);
         table.setRowHeight(35);
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // Several rows can be approved or rejected in one go
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         
         loadApplicationsToTable(model);
         
@@ -90,33 +101,25 @@ public class DialogManager {
             showContactDialog(dialog, name, email, phone);
         });
         
-        JButton btnApprove = UIHelper.createStyledButton("✅ Approve", AppTheme.ACCENT_COLOR);
-        btnApprove.setPreferredSize(new Dimension(120, 35));
-        btnApprove.addActionListener(e -> {
+        JButton btnCoverLetter = UIHelper.createStyledButton("📄 Cover Letter", new Color(52, 152, 219));
+        btnCoverLetter.setPreferredSize(new Dimension(140, 35));
+        btnCoverLetter.addActionListener(e -> {
             int row = table.getSelectedRow();
             if (row == -1) {
                 UIHelper.showWarningDialog(dialog, "Please select an application.");
                 return;
             }
             int appId = Integer.parseInt(String.valueOf(model.getValueAt(row, 0)));
-            String username = String.valueOf(model.getValueAt(row, 1));
-            String jobTitle = String.valueOf(model.getValueAt(row, 2));
-            updateApplicationStatus(appId, username, jobTitle, "Approved", model, row, dialog);
+            showCoverLetterDialog(dialog, appId, String.valueOf(model.getValueAt(row, 4)));
         });
         
+        JButton btnApprove = UIHelper.createStyledButton("✅ Approve", AppTheme.ACCENT_COLOR);
+        btnApprove.setPreferredSize(new Dimension(120, 35));
+        btnApprove.addActionListener(e -> decideSelectedApplications(table, model, "Approved", dialog));
+        
         JButton btnReject = UIHelper.createStyledButton("❌ Reject", AppTheme.DANGER_COLOR);
         btnReject.setPreferredSize(new Dimension(120, 35));
-        btnReject.addActionListener(e -> {
-            int row = table.getSelectedRow();
-            if (row == -1) {
-                UIHelper.showWarningDialog(dialog, "Please select an application.");
-                return;
-            }
-            int appId = Integer.parseInt(String.valueOf(model.getValueAt(row, 0)));
-            String username = String.valueOf(model.getValueAt(row, 1));
-            String jobTitle = String.valueOf(model.getValueAt(row, 2));
-            updateApplicationStatus(appId, username, jobTitle, "Rejected", model, row, dialog);
-        });
+        btnReject.addActionListener(e -> decideSelectedApplications(table, model, "Rejected", dialog));
         
         JButton btnRefresh = UIHelper.createStyledButton("🔄 Refresh", new Color(52, 73, 94));
         btnRefresh.setPreferredSize(new Dimension(120, 35));
@@ -130,6 +133,7 @@ public class DialogManager {
         btnClose.addActionListener(e -> dialog.dispose());
         
         btnPanel.add(btnContact);
+        btnPanel.add(btnCoverLetter);
         btnPanel.add(btnApprove);
         btnPanel.add(btnReject);
         btnPanel.add(btnRefresh);
@@ -152,13 +156,109 @@ public class DialogManager {
         }
     }
     
-    private void updateApplicationStatus(int appId, String username, String jobTitle, 
-                                         String status, DefaultTableModel model, int row, JDialog dialog) {
+    /**
+     * Streams one cover letter into a read-only text area; the list never loads them.
+     */
+    private void showCoverLetterDialog(JDialog owner, int appId, String applicantName) {
+        JDialog dialog = new JDialog(owner, "📄 Cover Letter - " + applicantName, true);
+        dialog.setSize(600, 450);
+        dialog.setLocationRelativeTo(owner);
+        dialog.getContentPane().setBackground(AppTheme.BG_COLOR);
+        dialog.setLayout(new BorderLayout(10, 10));
+        
+        JTextArea taLetter = new JTextArea();
+        taLetter.setEditable(false);
+        taLetter.setLineWrap(true);
+        taLetter.setWrapStyleWord(true);
+        taLetter.setFont(AppTheme.FONT_TABLE);
+        try (Reader reader = dbManager.openCoverLetter(appId)) {
+            if (reader == null) {
+                taLetter.setText("(No cover letter)");
+            } else {
+                taLetter.read(reader, null);
+            }
+        } catch (SQLException | IOException e) {
+            UIHelper.showErrorDialog(owner, "Error loading cover letter: " + e.getMessage());
+            return;
+        }
+        taLetter.setCaretPosition(0);
+        JScrollPane scrollPane = new JScrollPane(taLetter);
+        scrollPane.setBorder(new EmptyBorder(10, 10, 0, 10));
+        dialog.add(scrollPane, BorderLayout.CENTER);
+        
+        JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        btnPanel.setBackground(AppTheme.BG_COLOR);
+        JButton btnClose = UIHelper.createStyledButton("Close", new Color(149, 165, 166));
+        btnClose.setPreferredSize(new Dimension(100, 35));
+        btnClose.addActionListener(e -> dialog.dispose());
+        btnPanel.add(btnClose);
+        dialog.add(btnPanel, BorderLayout.SOUTH);
+        dialog.setVisible(true);
+    }
+    
+    private void decideSelectedApplications(JTable table, DefaultTableModel model, String status, JDialog dialog) {
+        int[] rows = table.getSelectedRows();
+        if (rows.length == 0) {
+            UIHelper.showWarningDialog(dialog, "Please select an application.");
+            return;
+        }
+        if (rows.length == 1) {
+            int row = rows[0];
+            int appId = Integer.parseInt(String.valueOf(model.getValueAt(row, 0)));
+            updateApplicationStatus(appId, status, model, row, dialog);
+            return;
+        }
+        
+        if (UIHelper.showConfirmDialog(dialog, "Mark " + rows.length + " applications as " + status + "?",
+                "Confirm") != JOptionPane.YES_OPTION) {
+            return;
+        }
+        
+        List<Integer> appIds = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            appIds.add(Integer.parseInt(String.valueOf(model.getValueAt(row, 0))));
+        }
+        bulkUpdateApplicationStatus(appIds, status, model, dialog);
+    }
+    
+    private void bulkUpdateApplicationStatus(List<Integer> appIds, String status, DefaultTableModel model, JDialog dialog) {
+        ProgressMonitor monitor = new ProgressMonitor(dialog, "Updating " + appIds.size() + " applications...",
+            null, 0, appIds.size());
+        monitor.setMillisToDecideToPopup(100);
+        
+        new SwingWorker<Integer, Integer>() {
+            protected Integer doInBackground() throws Exception {
+                return dbManager.bulkUpdateApplicationStatus(appIds, status, done -> publish(done));
+            }
+            protected void process(List<Integer> chunks) {
+                monitor.setProgress(chunks.get(chunks.size() - 1));
+            }
+            protected void done() {
+                monitor.close();
+                try {
+                    int updated = get();
+                    // Refresh only the rows that were part of this decision
+                    Set<Integer> ids = new HashSet<>(appIds);
+                    for (int row = 0; row < model.getRowCount(); row++) {
+                        if (ids.contains(Integer.parseInt(String.valueOf(model.getValueAt(row, 0))))) {
+                            model.setValueAt(status, row, 7);
+                        }
+                    }
+                    UIHelper.showSuccessDialog(dialog, updated + " applications " + status.toLowerCase() + "! Customers have been notified.");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    UIHelper.showErrorDialog(dialog, "Error: " + e.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    private void updateApplicationStatus(int appId, String status, DefaultTableModel model, int row, JDialog dialog) {
         try {
-            if (dbManager.updateApplicationStatus(appId, status)) {
+            // Same statements as a bulk decision, so the notification carries the application's job id
+            if (dbManager.bulkUpdateApplicationStatus(Collections.singletonList(appId), status, null) > 0) {
                 model.setValueAt(status, row, 7);
-                String message = "Your application for '" + jobTitle + "' has been " + status.toLowerCase() + ".";
-                dbManager.addNotification(username, jobTitle, message, status);
                 UIHelper.showSuccessDialog(dialog, "Application " + status.toLowerCase() + "! Customer has been notified.");
             }
         } catch (SQLException e) {
@@ -191,8 +291,10 @@ public class DialogManager {
         contentPanel.setBackground(AppTheme.BG_COLOR);
         contentPanel.setBorder(new EmptyBorder(15, 15, 15, 15));
         
+        List<Object[]> shown = new ArrayList<>();
         try {
             List<Object[]> notifications = dbManager.getAllNotifications("admin");
+            shown.addAll(notifications);
             if (notifications.isEmpty()) {
                 JLabel emptyLabel = new JLabel("No notifications yet.");
                 emptyLabel.setFont(AppTheme.FONT_SUBTITLE);
@@ -230,6 +332,7 @@ public class DialogManager {
             dialog.dispose();
             if (refreshCallback != null) refreshCallback.run();
         });
+        btnPanel.add(createOlderNotificationsButton(contentPanel, "admin", shown));
         btnPanel.add(btnClose);
         dialog.add(btnPanel, BorderLayout.SOUTH);
         
@@ -300,7 +403,19 @@ public class DialogManager {
     
     // ============== CUSTOMER: APPLY FOR JOB ==============
     
-    public void showApplyJobDialog(String jobTitle, String company) {
+    public void showApplyJobDialog(int jobId, String jobTitle, String company) {
+        // Applying again just shows the existing application
+        try {
+            ApplicationReceipt existing = dbManager.findApplication(currentUser, jobId);
+            if (existing != null) {
+                showAlreadyApplied(parent, existing);
+                return;
+            }
+        } catch (SQLException ex) {
+            UIHelper.showErrorDialog(parent, "Error: " + ex.getMessage());
+            return;
+        }
+        
         JDialog dialog = new JDialog(parent, "📝 Apply for Job", true);
         dialog.setSize(500, 500);
         dialog.setLocationRelativeTo(parent);
@@ -353,6 +468,18 @@ public class DialogManager {
         formPanel.add(tfPhone);
         formPanel.add(Box.createVerticalStrut(12));
         
+        // Pre-fill contact details from the (cached) resume
+        try {
+            Object[] resume = dbManager.getResume(currentUser);
+            if (resume != null) {
+                tfName.setText(resume[0] != null ? String.valueOf(resume[0]) : "");
+                tfEmail.setText(resume[1] != null ? String.valueOf(resume[1]) : "");
+                tfPhone.setText(resume[2] != null ? String.valueOf(resume[2]) : "");
+            }
+        } catch (SQLException e) {
+            System.err.println("Error loading resume: " + e.getMessage());
+        }
+        
         // Cover Letter
         formPanel.add(UIHelper.createFormLabel("Cover Letter"));
         JTextArea taCoverLetter = UIHelper.createStyledTextArea(4, 20);
@@ -379,12 +506,17 @@ public class DialogManager {
             }
             
             try {
-                if (dbManager.addApplication(currentUser, jobTitle, company, name, email, 
-                        tfPhone.getText().trim(), taCoverLetter.getText().trim())) {
+                ApplicationReceipt receipt = dbManager.addApplication(currentUser, jobId, name, email, 
+                        tfPhone.getText().trim(), taCoverLetter.getText().trim());
+                if (receipt.created) {
                     UIHelper.showSuccessDialog(dialog, "Application submitted successfully! Admin has been notified and will review your application.");
-                    dialog.dispose();
-                    if (refreshCallback != null) refreshCallback.run();
+                } else {
+                    showAlreadyApplied(dialog, receipt);
                 }
+                dialog.dispose();
+                if (refreshCallback != null) refreshCallback.run();
+            } catch (RateLimitExceededException ex) {
+                UIHelper.showWarningDialog(dialog, ex.getMessage());
             } catch (SQLException ex) {
                 UIHelper.showErrorDialog(dialog, "Error: " + ex.getMessage());
             }
@@ -401,6 +533,13 @@ public class DialogManager {
         dialog.setVisible(true);
     }
     
+    private void showAlreadyApplied(Component owner, ApplicationReceipt receipt) {
+        String when = receipt.appliedAt != null
+            ? " on " + new SimpleDateFormat("MMM dd, yyyy").format(receipt.appliedAt) : "";
+        UIHelper.showWarningDialog(owner, "You already applied for this job" + when +
+            ".\nApplication #" + receipt.applicationId + " - Status: " + receipt.status);
+    }
+    
     // ============== CUSTOMER: MY APPLICATIONS ==============
     
     public void showMyApplicationsDialog() {
@@ -497,8 +636,10 @@ public class DialogManager {
         contentPanel.setBackground(AppTheme.BG_COLOR);
         contentPanel.setBorder(new EmptyBorder(15, 15, 15, 15));
         
+        List<Object[]> shown = new ArrayList<>();
         try {
             List<Object[]> notifications = dbManager.getAllNotifications(currentUser);
+            shown.addAll(notifications);
             if (notifications.isEmpty()) {
                 JLabel emptyLabel = new JLabel("No notifications yet.");
                 emptyLabel.setFont(AppTheme.FONT_SUBTITLE);
@@ -536,12 +677,46 @@ public class DialogManager {
             dialog.dispose();
             if (refreshCallback != null) refreshCallback.run();
         });
+        btnPanel.add(createOlderNotificationsButton(contentPanel, currentUser, shown));
         btnPanel.add(btnClose);
         dialog.add(btnPanel, BorderLayout.SOUTH);
         
         dialog.setVisible(true);
     }
     
+    /**
+     * Button that pages older (including archived) notifications into the list.
+     */
+    private JButton createOlderNotificationsButton(JPanel contentPanel, String username, List<Object[]> shown) {
+        int[] oldestId = {Integer.MAX_VALUE};
+        for (Object[] n : shown) {
+            oldestId[0] = Math.min(oldestId[0], (Integer) n[0]);
+        }
+        
+        JButton btnOlder = UIHelper.createStyledButton("📜 Older", AppTheme.PRIMARY_COLOR);
+        btnOlder.setPreferredSize(new Dimension(100, 35));
+        btnOlder.addActionListener(e -> {
+            try {
+                List<Object[]> older = dbManager.getOlderNotifications(username, oldestId[0], DatabaseManager.INBOX_LIMIT);
+                if (older.isEmpty()) {
+                    UIHelper.showWarningDialog(contentPanel, "No older notifications.");
+                    btnOlder.setEnabled(false);
+                    return;
+                }
+                for (Object[] n : older) {
+                    contentPanel.add(createNotificationCard(n));
+                    contentPanel.add(Box.createVerticalStrut(10));
+                    oldestId[0] = Math.min(oldestId[0], (Integer) n[0]);
+                }
+                contentPanel.revalidate();
+                contentPanel.repaint();
+            } catch (SQLException ex) {
+                UIHelper.showErrorDialog(contentPanel, "Error: " + ex.getMessage());
+            }
+        });
+        return btnOlder;
+    }
+    
     private JPanel createNotificationCard(Object[] notification) {
         JPanel card = new JPanel(new BorderLayout(10, 5));
         card.setBackground(Color.WHITE);
@@ -764,6 +939,14 @@ public class DialogManager {
     
     // ============== ADMIN: CUSTOMER CONCERNS ==============
     
+    /** Shown in a table's scroll pane until its rows have loaded. */
+    private static JLabel createLoadingLabel() {
+        JLabel label = new JLabel("Loading…", JLabel.CENTER);
+        label.setFont(AppTheme.FONT_SUBTITLE);
+        label.setForeground(AppTheme.TEXT_SECONDARY);
+        return label;
+    }
+    
     public void showAdminContactMessagesDialog() {
         JDialog dialog = new JDialog(parent, "📧 Customer Concerns", true);
         dialog.setSize(1000, 600);
@@ -780,16 +963,10 @@ public class DialogManager {
         headerLabel.setForeground(Color.WHITE);
         headerPanel.add(headerLabel, BorderLayout.WEST);
         
-        try {
-            int unreadCount = dbManager.getUnreadContactMessageCount();
-            if (unreadCount > 0) {
-                JLabel countLabel = new JLabel("Unread: " + unreadCount);
-                countLabel.setFont(AppTheme.FONT_SUBTITLE);
-                countLabel.setForeground(AppTheme.DANGER_COLOR);
-                countLabel.setForeground(new Color(255, 255, 255));
-                headerPanel.add(countLabel, BorderLayout.EAST);
-            }
-        } catch (SQLException e) { }
+        JLabel countLabel = new JLabel("Unread: …");
+        countLabel.setFont(AppTheme.FONT_SUBTITLE);
+        countLabel.setForeground(new Color(255, 255, 255));
+        headerPanel.add(countLabel, BorderLayout.EAST);
         
         dialog.add(headerPanel, BorderLayout.NORTH);
         
@@ -810,27 +987,41 @@ public class DialogManager {
         header.setBackground(AppTheme.PRIMARY_COLOR);
         header.setForeground(Color.WHITE);
         
-        try {
-            List<Object[]> messages = dbManager.getAllContactMessages();
-            for (Object[] msg : messages) {
-                tableModel.addRow(new Object[]{
-                    msg[0], // id
-                    msg[1], // username
-                    msg[2], // subject
-                    msg[4], // email
-                    msg[5], // phone
-                    msg[6], // status
-                    msg[9]  // created_at
-                });
-            }
-        } catch (SQLException e) {
-            UIHelper.showErrorDialog(dialog, "Error loading messages: " + e.getMessage());
-        }
-        
         JScrollPane tableScroll = new JScrollPane(table);
         tableScroll.setBorder(BorderFactory.createLineBorder(AppTheme.BORDER_COLOR, 1));
         dialog.add(tableScroll, BorderLayout.CENTER);
         
+        // Load the count and the messages together; each fills in when it arrives
+        JLabel loadingLabel = createLoadingLabel();
+        DialogDataLoader loader = new DialogDataLoader(dialog);
+        Runnable reload = () -> {
+            loader.begin();
+            tableScroll.setViewportView(loadingLabel);
+            loader.load(dbManager::getUnreadContactMessageCount, unreadCount -> {
+                countLabel.setText("Unread: " + unreadCount);
+                countLabel.setVisible(unreadCount > 0);
+            }, e -> countLabel.setText("Unread: ?"));
+            loader.load(dbManager::getAllContactMessages, messages -> {
+                tableModel.setRowCount(0);
+                for (Object[] msg : messages) {
+                    tableModel.addRow(new Object[]{
+                        msg[0], // id
+                        msg[1], // username
+                        msg[2], // subject
+                        msg[4], // email
+                        msg[5], // phone
+                        msg[6], // status
+                        msg[9]  // created_at
+                    });
+                }
+                tableScroll.setViewportView(table);
+            }, e -> {
+                tableScroll.setViewportView(table);
+                UIHelper.showErrorDialog(dialog, "Error loading messages: " + e.getMessage());
+            });
+        };
+        reload.run();
+        
         // Details and Response Panel
         JPanel detailsPanel = UIHelper.createCardPanel(15);
         detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));
@@ -931,14 +1122,7 @@ public class DialogManager {
                 if (dbManager.updateContactMessageStatus(messageId, "Resolved", response)) {
                     UIHelper.showSuccessDialog(dialog, "Response sent successfully!");
                     responseArea.setText("");
-                    // Refresh table
-                    tableModel.setRowCount(0);
-                    List<Object[]> messages = dbManager.getAllContactMessages();
-                    for (Object[] msg : messages) {
-                        tableModel.addRow(new Object[]{
-                            msg[0], msg[1], msg[2], msg[4], msg[5], msg[6], msg[9]
-                        });
-                    }
+                    reload.run();
                 }
             } catch (SQLException ex) {
                 UIHelper.showErrorDialog(dialog, "Error: " + ex.getMessage());
@@ -974,150 +1158,41 @@ public class DialogManager {
         headerLabel.setForeground(Color.WHITE);
         headerPanel.add(headerLabel, BorderLayout.WEST);
         
-        try {
-            int activeCount = dbManager.getActiveUserCount();
-            JLabel countLabel = new JLabel("Active: " + activeCount);
-            countLabel.setFont(AppTheme.FONT_SUBTITLE);
-            countLabel.setForeground(new Color(255, 255, 255));
-            headerPanel.add(countLabel, BorderLayout.EAST);
-        } catch (SQLException e) { }
+        JLabel countLabel = new JLabel("Active: …");
+        countLabel.setFont(AppTheme.FONT_SUBTITLE);
+        countLabel.setForeground(new Color(255, 255, 255));
+        headerPanel.add(countLabel, BorderLayout.EAST);
         
         dialog.add(headerPanel, BorderLayout.NORTH);
         
         // Table
-        String[] columns = {"ID", "Username", "Password", "Role", "Status", "Last Login", "Last Logout"};
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0) {
-            public boolean isCellEditable(int row, int column) { return false; }
-        };
-        
-        JTable table = new JTable(tableModel);
-        table.setFont(AppTheme.FONT_TABLE);
-        table.setRowHeight(35);
-        table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        
-        // Header styling
-        JTableHeader header = table.getTableHeader();
-        header.setFont(AppTheme.FONT_TABLE_HEADER);
-        header.setBackground(AppTheme.PRIMARY_COLOR);
-        header.setForeground(Color.WHITE);
-        
-        // Custom renderer for Password column (column 2)
-        table.getColumnModel().getColumn(2).setCellRenderer(new DefaultTableCellRenderer() {
-            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
-                    boolean hasFocus, int row, int column) {
-                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
-                String password = value != null ? value.toString() : "";
-                label.setText("🔑 " + password);
-                label.setForeground(new Color(128, 0, 128)); // Purple color for password
-                label.setHorizontalAlignment(JLabel.LEFT);
-                return label;
-            }
-        });
-        
-        // Custom renderer for Role column (now column 3)
-        table.getColumnModel().getColumn(3).setCellRenderer(new DefaultTableCellRenderer() {
-            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
-                    boolean hasFocus, int row, int column) {
-                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
-                String role = value != null ? value.toString() : "";
-                if ("Admin".equals(role)) {
-                    label.setForeground(AppTheme.PRIMARY_COLOR);
-                    label.setText("🔐 " + role);
-                } else {
-                    label.setForeground(AppTheme.TEXT_SECONDARY);
-                    label.setText("👤 " + role);
-                }
-                label.setHorizontalAlignment(JLabel.CENTER);
-                return label;
-            }
-        });
-        
-        // Custom renderer for Status column (now column 4)
-        table.getColumnModel().getColumn(4).setCellRenderer(new DefaultTableCellRenderer() {
-            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
-                    boolean hasFocus, int row, int column) {
-                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
-                String status = value != null ? value.toString() : "Offline";
-                if ("Online".equals(status)) {
-                    label.setForeground(new Color(46, 125, 50)); // Green
-                    label.setText("🟢 " + status);
-                } else {
-                    label.setForeground(AppTheme.TEXT_SECONDARY);
-                    label.setText("⚫ " + status);
-                }
-                label.setHorizontalAlignment(JLabel.CENTER);
-                return label;
-            }
-        });
-        
-        // Custom renderer for Last Login column (now column 5)
-        table.getColumnModel().getColumn(5).setCellRenderer(new DefaultTableCellRenderer() {
-            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
-                    boolean hasFocus, int row, int column) {
-                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
-                String timestamp = value != null ? value.toString() : "Never";
-                if (!"Never".equals(timestamp)) {
-                    label.setText("🕐 " + timestamp);
-                    label.setForeground(AppTheme.TEXT_PRIMARY);
-                } else {
-                    label.setText("Never");
-                    label.setForeground(AppTheme.TEXT_SECONDARY);
-                }
-                label.setHorizontalAlignment(JLabel.LEFT);
-                return label;
-            }
-        });
-        
-        // Custom renderer for Last Logout column (now column 6)
-        table.getColumnModel().getColumn(6).setCellRenderer(new DefaultTableCellRenderer() {
-            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
-                    boolean hasFocus, int row, int column) {
-                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
-                String timestamp = value != null ? value.toString() : "N/A";
-                if (!"N/A".equals(timestamp) && !timestamp.isEmpty()) {
-                    label.setText("🕐 " + timestamp);
-                    label.setForeground(AppTheme.TEXT_PRIMARY);
-                } else {
-                    label.setText("N/A");
-                    label.setForeground(AppTheme.TEXT_SECONDARY);
-                }
-                label.setHorizontalAlignment(JLabel.LEFT);
-                return label;
-            }
-        });
-        
-        // Load users
-        try {
-            List<Object[]> users = dbManager.getAllUsersWithSessions();
-            for (Object[] user : users) {
-                String lastLogout = user[6] != null ? user[6].toString() : "N/A";
-                tableModel.addRow(new Object[]{
-                    user[0], // id
-                    user[1], // username
-                    user[2], // password
-                    user[3], // role
-                    user[4], // status
-                    user[5], // last_login
-                    lastLogout
-                });
-            }
-        } catch (SQLException e) {
-            UIHelper.showErrorDialog(dialog, "Error loading users: " + e.getMessage());
-        }
-        
-        // Column widths
-        table.getColumnModel().getColumn(0).setPreferredWidth(50);  // ID
-        table.getColumnModel().getColumn(1).setPreferredWidth(150); // Username
-        table.getColumnModel().getColumn(2).setPreferredWidth(120); // Password
-        table.getColumnModel().getColumn(3).setPreferredWidth(120); // Role
-        table.getColumnModel().getColumn(4).setPreferredWidth(100); // Status
-        table.getColumnModel().getColumn(5).setPreferredWidth(200); // Last Login - wider for date+time
-        table.getColumnModel().getColumn(6).setPreferredWidth(200); // Last Logout - wider for date+time
+        FastTable table = createUserTable();
+        FastTable.Model tableModel = table.getFastModel();
         
         JScrollPane tableScroll = new JScrollPane(table);
         tableScroll.setBorder(BorderFactory.createLineBorder(AppTheme.BORDER_COLOR, 1));
         dialog.add(tableScroll, BorderLayout.CENTER);
         
+        // Load users and the active count together; each fills in when it arrives
+        JLabel loadingLabel = createLoadingLabel();
+        DialogDataLoader loader = new DialogDataLoader(dialog);
+        Runnable reload = () -> {
+            loader.begin();
+            tableScroll.setViewportView(loadingLabel);
+            loader.load(dbManager::getActiveUserCount,
+                activeCount -> countLabel.setText("Active: " + activeCount),
+                e -> countLabel.setText("Active: ?"));
+            loader.load(dbManager::getAllUsersWithSessions, users -> {
+                // id, username, role, status, last_login, last_logout
+                table.setRows(users);
+                tableScroll.setViewportView(table);
+            }, e -> {
+                tableScroll.setViewportView(table);
+                UIHelper.showErrorDialog(dialog, "Error loading users: " + e.getMessage());
+            });
+        };
+        reload.run();
+        
         // Info Panel
         JPanel infoPanel = UIHelper.createCardPanel(15);
         infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
@@ -1142,31 +1217,7 @@ public class DialogManager {
         
         JButton btnRefresh = UIHelper.createStyledButton("🔄 Refresh", AppTheme.PRIMARY_COLOR);
         btnRefresh.setPreferredSize(new Dimension(120, 35));
-        btnRefresh.addActionListener(e -> {
-            // Refresh table
-            tableModel.setRowCount(0);
-            try {
-                List<Object[]> users = dbManager.getAllUsersWithSessions();
-                for (Object[] user : users) {
-                    String lastLogout = user[6] != null ? user[6].toString() : "N/A";
-                    tableModel.addRow(new Object[]{
-                        user[0], user[1], user[2], user[3], user[4], user[5], lastLogout
-                    });
-                }
-                // Update active count
-                int activeCount = dbManager.getActiveUserCount();
-                headerPanel.removeAll();
-                headerPanel.add(headerLabel, BorderLayout.WEST);
-                JLabel countLabel = new JLabel("Active: " + activeCount);
-                countLabel.setFont(AppTheme.FONT_SUBTITLE);
-                countLabel.setForeground(new Color(255, 255, 255));
-                headerPanel.add(countLabel, BorderLayout.EAST);
-                headerPanel.revalidate();
-                headerPanel.repaint();
-            } catch (SQLException ex) {
-                UIHelper.showErrorDialog(dialog, "Error refreshing: " + ex.getMessage());
-            }
-        });
+        btnRefresh.addActionListener(e -> reload.run());
         
         JButton btnDelete = UIHelper.createStyledButton("🗑️ Delete User", AppTheme.DANGER_COLOR);
         btnDelete.setPreferredSize(new Dimension(140, 35));
@@ -1179,7 +1230,7 @@ public class DialogManager {
             
             int userId = (Integer) tableModel.getValueAt(row, 0);
             String username = String.valueOf(tableModel.getValueAt(row, 1));
-            String role = String.valueOf(tableModel.getValueAt(row, 3));
+            String role = String.valueOf(tableModel.getValueAt(row, 2));
             
             // Prevent deleting admin
             if ("Admin".equals(role) && "admin".equalsIgnoreCase(username)) {
@@ -1206,25 +1257,7 @@ public class DialogManager {
                 try {
                     if (dbManager.deleteUser(userId, username)) {
                         UIHelper.showSuccessDialog(dialog, "User '" + username + "' has been deleted successfully.");
-                        // Refresh table
-                        tableModel.setRowCount(0);
-                        List<Object[]> users = dbManager.getAllUsersWithSessions();
-                        for (Object[] user : users) {
-                            String lastLogout = user[6] != null ? user[6].toString() : "N/A";
-                            tableModel.addRow(new Object[]{
-                                user[0], user[1], user[2], user[3], user[4], user[5], lastLogout
-                            });
-                        }
-                        // Update active count
-                        int activeCount = dbManager.getActiveUserCount();
-                        headerPanel.removeAll();
-                        headerPanel.add(headerLabel, BorderLayout.WEST);
-                        JLabel countLabel = new JLabel("Active: " + activeCount);
-                        countLabel.setFont(AppTheme.FONT_SUBTITLE);
-                        countLabel.setForeground(new Color(255, 255, 255));
-                        headerPanel.add(countLabel, BorderLayout.EAST);
-                        headerPanel.revalidate();
-                        headerPanel.repaint();
+                        reload.run();
                     } else {
                         UIHelper.showErrorDialog(dialog, "Failed to delete user.");
                     }
@@ -1251,7 +1284,56 @@ public class DialogManager {
         dialog.setVisible(true);
     }
     
-    private void exportUsersToCSV(JDialog parent, DefaultTableModel tableModel) {
+    /**
+     * The user management table. Role, status and session columns are formatted once
+     * per row when rows are set, not on every paint (see FastTable).
+     */
+    static FastTable createUserTable() {
+        FastTable table = new FastTable(
+            new String[]{"ID", "Username", "Role", "Status", "Last Login", "Last Logout"}, 35);
+        table.setFont(AppTheme.FONT_TABLE);
+        
+        // Header styling
+        JTableHeader header = table.getTableHeader();
+        header.setFont(AppTheme.FONT_TABLE_HEADER);
+        header.setBackground(AppTheme.PRIMARY_COLOR);
+        header.setForeground(Color.WHITE);
+        
+        // Role (column 2)
+        table.setColumnFormat(2,
+            value -> ("Admin".equals(value) ? "🔐 " : "👤 ") + (value != null ? value : ""),
+            value -> "Admin".equals(value) ? 0 : 1,
+            AppTheme.PRIMARY_COLOR, AppTheme.TEXT_SECONDARY);
+        table.setColumnAlignment(2, JLabel.CENTER);
+        
+        // Status (column 3)
+        table.setColumnFormat(3,
+            value -> ("Online".equals(value) ? "🟢 " : "⚫ ") + (value != null ? value : "Offline"),
+            value -> "Online".equals(value) ? 0 : 1,
+            new Color(46, 125, 50), AppTheme.TEXT_SECONDARY); // Green
+        table.setColumnAlignment(3, JLabel.CENTER);
+        
+        // Last Login and Last Logout (columns 4 and 5)
+        table.setColumnFormat(4,
+            value -> value == null || "Never".equals(value) ? "Never" : "🕐 " + value,
+            value -> value == null || "Never".equals(value) ? 1 : 0,
+            AppTheme.TEXT_PRIMARY, AppTheme.TEXT_SECONDARY);
+        table.setColumnFormat(5,
+            value -> value == null || "N/A".equals(value) || value.toString().isEmpty() ? "N/A" : "🕐 " + value,
+            value -> value == null || "N/A".equals(value) || value.toString().isEmpty() ? 1 : 0,
+            AppTheme.TEXT_PRIMARY, AppTheme.TEXT_SECONDARY);
+        
+        // Column widths
+        table.getColumnModel().getColumn(0).setPreferredWidth(50);  // ID
+        table.getColumnModel().getColumn(1).setPreferredWidth(150); // Username
+        table.getColumnModel().getColumn(2).setPreferredWidth(120); // Role
+        table.getColumnModel().getColumn(3).setPreferredWidth(100); // Status
+        table.getColumnModel().getColumn(4).setPreferredWidth(200); // Last Login - wider for date+time
+        table.getColumnModel().getColumn(5).setPreferredWidth(200); // Last Logout - wider for date+time
+        return table;
+    }
+    
+    private void exportUsersToCSV(JDialog parent, TableModel tableModel) {
         try {
             // Ask user what to export
             String[] options = {"Export Visible Users (Table)", "Export All Users from Database"};
@@ -1283,7 +1365,7 @@ public class DialogManager {
                     writer.write('\ufeff');
                     
                     // Write header
-                    String[] headers = {"ID", "Username", "Password", "Role", "Status", "Last Login", "Last Logout"};
+                    String[] headers = {"ID", "Username", "Role", "Status", "Last Login", "Last Logout"};
                     for (int i = 0; i < headers.length; i++) {
                         writer.append(escapeCSV(headers[i]));
                         if (i < headers.length - 1) writer.append(",");
@@ -1294,13 +1376,12 @@ public class DialogManager {
                         // Export all users from database
                         List<Object[]> allUsers = dbManager.getAllUsersWithSessions();
                         for (Object[] user : allUsers) {
-                            String lastLogout = user[6] != null ? user[6].toString() : "N/A";
+                            String lastLogout = user[5] != null ? user[5].toString() : "N/A";
                             writer.append(escapeCSV(String.valueOf(user[0]))).append(","); // ID
                             writer.append(escapeCSV(user[1].toString())).append(","); // Username
-                            writer.append(escapeCSV(user[2].toString())).append(","); // Password
-                            writer.append(escapeCSV(user[3].toString())).append(","); // Role
-                            writer.append(escapeCSV(user[4].toString())).append(","); // Status
-                            writer.append(escapeCSV(user[5].toString())).append(","); // Last Login
+                            writer.append(escapeCSV(user[2].toString())).append(","); // Role
+                            writer.append(escapeCSV(user[3].toString())).append(","); // Status
+                            writer.append(escapeCSV(user[4].toString())).append(","); // Last Login
                             writer.append(escapeCSV(lastLogout)); // Last Logout
                             writer.append("\n");
                         }
@@ -1354,4 +1435,370 @@ public class DialogManager {
         
         return escaped;
     }
+    
+    // ============== ANALYTICS DASHBOARD ==============
+    
+    /**
+     * Charts read from the analytics rollups (see AnalyticsRollups), never from the raw tables.
+     */
+    public void showAnalyticsDialog() {
+        JDialog dialog = new JDialog(parent, "📊 Analytics", true);
+        dialog.setSize(1000, 680);
+        dialog.setLocationRelativeTo(parent);
+        dialog.getContentPane().setBackground(AppTheme.BG_COLOR);
+        dialog.setLayout(new BorderLayout(10, 10));
+        
+        // Header with the range selector
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(AppTheme.PRIMARY_COLOR);
+        headerPanel.setBorder(new EmptyBorder(15, 20, 15, 20));
+        JLabel headerLabel = new JLabel("📊 Analytics");
+        headerLabel.setFont(AppTheme.FONT_HEADER);
+        headerLabel.setForeground(Color.WHITE);
+        headerPanel.add(headerLabel, BorderLayout.WEST);
+        JComboBox<String> cbRange = new JComboBox<>(new String[]{"Last 30 days (daily)", "Last 24 hours (hourly)"});
+        cbRange.setFont(AppTheme.FONT_LABEL);
+        headerPanel.add(cbRange, BorderLayout.EAST);
+        dialog.add(headerPanel, BorderLayout.NORTH);
+        
+        BarChart newUsers = new BarChart("New Users", AppTheme.PRIMARY_COLOR);
+        BarChart logins = new BarChart("Logins", AppTheme.PRIMARY_DARK);
+        BarChart applications = new BarChart("Applications", AppTheme.DASHBOARD_SUCCESS);
+        BarChart appsByStatus = new BarChart("Applications by Status", AppTheme.DASHBOARD_SUCCESS);
+        BarChart messagesByStatus = new BarChart("Contact Messages by Status", AppTheme.WARNING_COLOR);
+        BarChart jobsByLocation = new BarChart("Job Postings by Location", AppTheme.TEXT_PRIMARY);
+        BarChart jobsByCompany = new BarChart("Job Postings by Company", AppTheme.TEXT_PRIMARY);
+        
+        JPanel charts = new JPanel(new GridLayout(0, 2, 10, 10));
+        charts.setBackground(AppTheme.BG_COLOR);
+        charts.setBorder(new EmptyBorder(0, 15, 0, 15));
+        for (BarChart chart : new BarChart[]{newUsers, logins, applications, appsByStatus,
+                messagesByStatus, jobsByLocation, jobsByCompany}) {
+            charts.add(chart);
+        }
+        JLabel lblInfo = new JLabel(" ");
+        lblInfo.setFont(AppTheme.FONT_TABLE);
+        lblInfo.setForeground(AppTheme.TEXT_SECONDARY);
+        lblInfo.setHorizontalAlignment(SwingConstants.CENTER);
+        charts.add(lblInfo);
+        dialog.add(charts, BorderLayout.CENTER);
+        
+        // All charts load together off the EDT; each fills in when its query returns
+        DialogDataLoader loader = new DialogDataLoader(dialog);
+        Runnable load = () -> {
+            boolean hourly = cbRange.getSelectedIndex() == 1;
+            int buckets = hourly ? 24 : 30;
+            LocalDateTime first = hourly
+                ? LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(buckets - 1)
+                : LocalDate.now().minusDays(buckets - 1).atStartOfDay();
+            Timestamp from = Timestamp.valueOf(first);
+            String[] labels = new String[buckets];
+            for (int i = 0; i < buckets; i++) {
+                labels[i] = hourly ? String.format("%02d:00", first.plusHours(i).getHour())
+                    : String.format("%02d-%02d", first.plusDays(i).getMonthValue(), first.plusDays(i).getDayOfMonth());
+            }
+            loader.begin();
+            lblInfo.setText("Loading...");
+            long start = System.nanoTime();
+            BarChart[] seriesCharts = {newUsers, logins, applications};
+            String[] seriesMetrics = {"new_users", "logins", "applications"};
+            BarChart[] totalsCharts = {appsByStatus, messagesByStatus, jobsByLocation, jobsByCompany};
+            String[] totalsMetrics = {"applications", "contact_messages", "jobs_by_location", "jobs_by_company"};
+            int[] pending = {seriesCharts.length + totalsCharts.length + 1};
+            Timestamp[] updated = new Timestamp[1];
+            boolean[] failed = {false};
+            Runnable arrived = () -> {
+                if (--pending[0] > 0 || failed[0]) return;
+                lblInfo.setText("<html><center>Loaded in " + (System.nanoTime() - start) / 1_000_000 + " ms<br>" +
+                    "Rollups updated " + (updated[0] == null ? "never" :
+                        new SimpleDateFormat("MMM dd, HH:mm").format(updated[0])) + "</center></html>");
+            };
+            java.util.function.Consumer<SQLException> onError = ex -> {
+                if (failed[0]) return;
+                failed[0] = true;
+                lblInfo.setText("Error loading analytics");
+                UIHelper.showErrorDialog(dialog, "Error loading analytics: " + ex.getMessage());
+            };
+            for (int i = 0; i < seriesCharts.length; i++) {
+                BarChart chart = seriesCharts[i];
+                String metric = seriesMetrics[i];
+                loader.load(() -> dbManager.getAnalyticsSeries(metric, hourly, from, buckets), values -> {
+                    chart.setData(labels, values);
+                    arrived.run();
+                }, onError);
+            }
+            for (int i = 0; i < totalsCharts.length; i++) {
+                BarChart chart = totalsCharts[i];
+                String metric = totalsMetrics[i];
+                loader.load(() -> dbManager.getAnalyticsTotals(metric, hourly, from, 8), totals -> {
+                    chart.setData(totals);
+                    arrived.run();
+                }, onError);
+            }
+            loader.load(dbManager::getAnalyticsUpdatedAt, at -> {
+                updated[0] = at;
+                arrived.run();
+            }, onError);
+        };
+        cbRange.addActionListener(e -> load.run());
+        
+        // Buttons
+        JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 15));
+        btnPanel.setBackground(AppTheme.BG_COLOR);
+        
+        JButton btnRefresh = UIHelper.createStyledButton("🔄 Update Now", AppTheme.PRIMARY_COLOR);
+        btnRefresh.setPreferredSize(new Dimension(150, 35));
+        btnRefresh.addActionListener(e -> {
+            btnRefresh.setEnabled(false);
+            new SwingWorker<Void, Void>() {
+                protected Void doInBackground() throws Exception {
+                    dbManager.refreshAnalytics();
+                    return null;
+                }
+                protected void done() {
+                    btnRefresh.setEnabled(true);
+                    try {
+                        get();
+                    } catch (Exception ex) {
+                        UIHelper.showErrorDialog(dialog, "Error updating analytics: " + ex.getMessage());
+                    }
+                    load.run();
+                }
+            }.execute();
+        });
+        btnPanel.add(btnRefresh);
+        
+        JButton btnClose = UIHelper.createStyledButton("Close", AppTheme.PRIMARY_COLOR);
+        btnClose.setPreferredSize(new Dimension(100, 35));
+        btnClose.addActionListener(e -> dialog.dispose());
+        btnPanel.add(btnClose);
+        
+        dialog.add(btnPanel, BorderLayout.SOUTH);
+        load.run();
+        dialog.setVisible(true);
+    }
+    
+    /**
+     * Minimal vertical bar chart with a title; labels are thinned out when crowded.
+     */
+    private static class BarChart extends JPanel {
+        private final String title;
+        private final Color color;
+        private String[] labels = new String[0];
+        private int[] values = new int[0];
+        
+        BarChart(String title, Color color) {
+            this.title = title;
+            this.color = color;
+            setBackground(AppTheme.CARD_COLOR);
+            setBorder(BorderFactory.createLineBorder(AppTheme.BORDER_COLOR));
+        }
+        
+        void setData(String[] labels, int[] values) {
+            this.labels = labels;
+            this.values = values;
+            repaint();
+        }
+        
+        void setData(Map<String, Integer> totals) {
+            String[] l = new String[totals.size()];
+            int[] v = new int[totals.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : totals.entrySet()) {
+                l[i] = entry.getKey().isEmpty() ? "(none)" : entry.getKey();
+                v[i++] = entry.getValue();
+            }
+            setData(l, v);
+        }
+        
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            Graphics2D g2 = (Graphics2D) g.create();
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            int total = 0;
+            int max = 1;
+            for (int v : values) {
+                total += v;
+                max = Math.max(max, v);
+            }
+            g2.setFont(AppTheme.FONT_LABEL);
+            g2.setColor(AppTheme.TEXT_PRIMARY);
+            g2.drawString(title + "  (" + total + ")", 10, 18);
+            
+            g2.setFont(AppTheme.FONT_TABLE.deriveFont(10f));
+            FontMetrics fm = g2.getFontMetrics();
+            int left = 10, top = 28, bottom = getHeight() - fm.getHeight() - 6;
+            int width = getWidth() - 2 * left;
+            if (values.length == 0 || bottom <= top) {
+                g2.setColor(AppTheme.TEXT_SECONDARY);
+                g2.drawString("No data", left, top + fm.getAscent());
+                g2.dispose();
+                return;
+            }
+            double slot = (double) width / values.length;
+            int labelEvery = Math.max(1, (int) Math.ceil(fm.stringWidth("00-00 ") / slot));
+            for (int i = 0; i < values.length; i++) {
+                int x = left + (int) (i * slot);
+                int barWidth = Math.max(1, (int) slot - 2);
+                int barHeight = (int) ((long) values[i] * (bottom - top - fm.getHeight()) / max);
+                g2.setColor(color);
+                g2.fillRect(x + 1, bottom - barHeight, barWidth, barHeight);
+                g2.setColor(AppTheme.TEXT_PRIMARY);
+                if (values[i] > 0 && fm.stringWidth(String.valueOf(values[i])) <= slot) {
+                    g2.drawString(String.valueOf(values[i]), x + 1, bottom - barHeight - 2);
+                }
+                if (i % labelEvery == 0) {
+                    String label = labels[i];
+                    while (label.length() > 1 && fm.stringWidth(label) > slot * labelEvery - 2) {
+                        label = label.substring(0, label.length() - 1);
+                    }
+                    g2.setColor(AppTheme.TEXT_SECONDARY);
+                    g2.drawString(label, x + 1, getHeight() - 6);
+                }
+            }
+            g2.dispose();
+        }
+    }
+    
+    // ============== DIAGNOSTICS DIALOG ==============
+    
+    /**
+     * UI stalls recorded by the EDT watchdog and per-query database metrics.
+     */
+    public void showDiagnosticsDialog() {
+        JDialog dialog = new JDialog(parent, "🩺 Diagnostics", true);
+        dialog.setSize(950, 600);
+        dialog.setLocationRelativeTo(parent);
+        dialog.getContentPane().setBackground(AppTheme.BG_COLOR);
+        dialog.setLayout(new BorderLayout(10, 10));
+        
+        // Header
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(AppTheme.PRIMARY_COLOR);
+        headerPanel.setBorder(new EmptyBorder(15, 20, 15, 20));
+        JLabel headerLabel = new JLabel("🩺 Diagnostics");
+        headerLabel.setFont(AppTheme.FONT_HEADER);
+        headerLabel.setForeground(Color.WHITE);
+        headerPanel.add(headerLabel, BorderLayout.WEST);
+        dialog.add(headerPanel, BorderLayout.NORTH);
+        
+        EdtWatchdog watchdog = EdtWatchdog.getInstance();
+        
+        // UI stalls: table on top, stack trace of the selected stall below
+        String[] columns = {"Time", "Duration (ms)", "Attributed To", "Window", "Event"};
+        DefaultTableModel stallModel = new DefaultTableModel(columns, 0) {
+            public boolean isCellEditable(int row, int column) { return false; }
+        };
+        JTable stallTable = new JTable(stallModel);
+        stallTable.setFont(AppTheme.FONT_TABLE);
+        stallTable.setRowHeight(28);
+        stallTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JTableHeader header = stallTable.getTableHeader();
+        header.setFont(AppTheme.FONT_TABLE_HEADER);
+        header.setBackground(AppTheme.PRIMARY_COLOR);
+        header.setForeground(Color.WHITE);
+        
+        JTextArea taStack = new JTextArea();
+        taStack.setEditable(false);
+        taStack.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        
+        List<EdtWatchdog.Stall> stalls = new ArrayList<>();
+        SimpleDateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSS");
+        Runnable loadStalls = () -> {
+            stalls.clear();
+            stallModel.setRowCount(0);
+            taStack.setText(watchdog == null ? "EDT watchdog is not installed." : "");
+            if (watchdog == null) return;
+            stalls.addAll(watchdog.getStalls());
+            for (EdtWatchdog.Stall stall : stalls) {
+                stallModel.addRow(new Object[]{timeFormat.format(stall.time), stall.durationMillis,
+                    stall.attributedTo, stall.window, stall.event});
+            }
+        };
+        stallTable.getSelectionModel().addListSelectionListener(e -> {
+            int row = stallTable.getSelectedRow();
+            if (e.getValueIsAdjusting() || row < 0) return;
+            EdtWatchdog.Stall stall = stalls.get(row);
+            StringBuilder sb = new StringBuilder();
+            if (stall.stack.length == 0) {
+                sb.append("(stall ended before a stack could be sampled)");
+            }
+            for (StackTraceElement frame : stall.stack) {
+                sb.append("at ").append(frame).append('\n');
+            }
+            taStack.setText(sb.toString());
+            taStack.setCaretPosition(0);
+        });
+        
+        JSplitPane stallPane = new JSplitPane(JSplitPane.VERTICAL_SPLIT,
+            new JScrollPane(stallTable), new JScrollPane(taStack));
+        stallPane.setResizeWeight(0.5);
+        
+        // Queries: the QueryMetrics report, then how often rate limits tripped
+        JTextArea taQueries = new JTextArea();
+        taQueries.setEditable(false);
+        taQueries.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JTextArea taLimits = new JTextArea();
+        taLimits.setEditable(false);
+        taLimits.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JTextArea taCaches = new JTextArea();
+        taCaches.setEditable(false);
+        taCaches.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        Runnable loadQueries = () -> {
+            taQueries.setText(QueryMetrics.getInstance().getReport());
+            taQueries.setCaretPosition(0);
+            taLimits.setText(RateLimiter.getInstance().getReport());
+            taLimits.setCaretPosition(0);
+            taCaches.setText(CacheRegion.getReport());
+            taCaches.setCaretPosition(0);
+        };
+        
+        JTabbedPane tabs = new JTabbedPane();
+        tabs.setFont(AppTheme.FONT_LABEL);
+        String threshold = watchdog != null ? " (> " + watchdog.getThresholdMillis() + " ms)" : "";
+        tabs.addTab("UI Stalls" + threshold, stallPane);
+        tabs.addTab("Database Queries", new JScrollPane(taQueries));
+        tabs.addTab("Rate Limits", new JScrollPane(taLimits));
+        tabs.addTab("Caches", new JScrollPane(taCaches));
+        JPanel tabsPanel = new JPanel(new BorderLayout());
+        tabsPanel.setBackground(AppTheme.BG_COLOR);
+        tabsPanel.setBorder(new EmptyBorder(0, 15, 0, 15));
+        tabsPanel.add(tabs, BorderLayout.CENTER);
+        dialog.add(tabsPanel, BorderLayout.CENTER);
+        
+        loadStalls.run();
+        loadQueries.run();
+        
+        // Buttons
+        JPanel btnPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 15));
+        btnPanel.setBackground(AppTheme.BG_COLOR);
+        
+        JButton btnRefresh = UIHelper.createStyledButton("🔄 Refresh", AppTheme.PRIMARY_COLOR);
+        btnRefresh.setPreferredSize(new Dimension(130, 35));
+        btnRefresh.addActionListener(e -> {
+            loadStalls.run();
+            loadQueries.run();
+        });
+        btnPanel.add(btnRefresh);
+        
+        JButton btnClear = UIHelper.createStyledButton("🗑️ Clear", AppTheme.DANGER_COLOR);
+        btnClear.setPreferredSize(new Dimension(130, 35));
+        btnClear.addActionListener(e -> {
+            if (watchdog != null) watchdog.clear();
+            QueryMetrics.getInstance().reset();
+            RateLimiter.getInstance().reset();
+            CacheRegion.resetStats();
+            loadStalls.run();
+            loadQueries.run();
+        });
+        btnPanel.add(btnClear);
+        
+        JButton btnClose = UIHelper.createStyledButton("Close", AppTheme.PRIMARY_COLOR);
+        btnClose.setPreferredSize(new Dimension(100, 35));
+        btnClose.addActionListener(e -> dialog.dispose());
+        btnPanel.add(btnClose);
+        
+        dialog.add(btnPanel, BorderLayout.SOUTH);
+        dialog.setVisible(true);
+    }
 }
@@ -0,0 +1,243 @@
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Dialog;
+import java.awt.Frame;
+import java.awt.Toolkit;
+import java.awt.Window;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.swing.SwingUtilities;
+
+/**
+ * EdtWatchdog.java - UI Responsiveness Monitor
+ *
+ * Pushes an EventQueue that times every event dispatch, plus a sampler
+ * thread that grabs the Event Dispatch Thread's stack while a dispatch is
+ * still running past the threshold. Each stall is attributed to the
+ * application class on the captured stack (or the window the event came
+ * from), kept for the diagnostics dialog and appended to a log file.
+ *
+ * -Djoblisting.edt.thresholdMillis=200   stall threshold
+ * -Djoblisting.edt.log=edt_stalls.log    log file ("" to disable)
+ */
+public class EdtWatchdog {
+
+    private static final int MAX_STALLS = 200;
+    private static final long SAMPLE_MILLIS = 50;
+    private static final Set<String> APP_CLASSES = Set.of(
+        "JobListingApp", "JobListFrame", "DialogManager", "ContactUsFrame", "UIHelper");
+
+    private static EdtWatchdog instance;
+
+    private final long thresholdNanos;
+    private final String logFile;
+    private final Deque<Stall> stalls = new ArrayDeque<>();
+
+    private final ExecutorService logWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "edt-watchdog-log");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Innermost running dispatch, written by the EDT and read by the sampler
+    private volatile Thread edt;
+    private volatile Dispatch current;
+
+    /** A running dispatch. Nested dispatches come from modal dialogs pumping events. */
+    private static class Dispatch {
+        final AWTEvent event;
+        final long start;
+        // Set when a nested event loop starts: the dispatch stopped blocking then
+        volatile long blockedNanos = -1;
+        volatile StackTraceElement[] stack;
+
+        Dispatch(AWTEvent event, long start) {
+            this.event = event;
+            this.start = start;
+        }
+    }
+
+    /** One dispatch that ran longer than the threshold. */
+    public static class Stall {
+        public final Date time;
+        public final long durationMillis;
+        public final String attributedTo;
+        public final String window;
+        public final String event;
+        public final StackTraceElement[] stack;
+
+        Stall(Date time, long durationMillis, String attributedTo, String window, String event,
+              StackTraceElement[] stack) {
+            this.time = time;
+            this.durationMillis = durationMillis;
+            this.attributedTo = attributedTo;
+            this.window = window;
+            this.event = event;
+            this.stack = stack;
+        }
+    }
+
+    private EdtWatchdog(long thresholdMillis, String logFile) {
+        this.thresholdNanos = thresholdMillis * 1_000_000L;
+        this.logFile = logFile;
+    }
+
+    /**
+     * Installs the watchdog once. Call before the first window is shown.
+     */
+    public static synchronized EdtWatchdog install() {
+        if (instance == null) {
+            instance = new EdtWatchdog(Long.getLong("joblisting.edt.thresholdMillis", 200L),
+                System.getProperty("joblisting.edt.log", "edt_stalls.log"));
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(instance.new TimingQueue());
+            Thread sampler = new Thread(instance::sample, "edt-watchdog");
+            sampler.setDaemon(true);
+            sampler.start();
+            System.out.println("✓ EDT watchdog installed (" + instance.getThresholdMillis() + " ms threshold)");
+        }
+        return instance;
+    }
+
+    /** The installed watchdog, or null if install() was never called. */
+    public static synchronized EdtWatchdog getInstance() {
+        return instance;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdNanos / 1_000_000L;
+    }
+
+    /** Recorded stalls, newest first. */
+    public synchronized List<Stall> getStalls() {
+        return new ArrayList<>(stalls);
+    }
+
+    public synchronized void clear() {
+        stalls.clear();
+    }
+
+    private class TimingQueue extends EventQueue {
+        // Only touched on the EDT
+        private final Deque<Dispatch> active = new ArrayDeque<>();
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            long now = System.nanoTime();
+            Dispatch parent = active.peek();
+            if (parent != null && parent.blockedNanos < 0) {
+                // A modal dialog is pumping events: only the time before it opened counts
+                parent.blockedNanos = now - parent.start;
+            }
+            Dispatch dispatch = new Dispatch(event, now);
+            active.push(dispatch);
+            edt = Thread.currentThread();
+            current = dispatch;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                active.pop();
+                current = active.peek();
+                long elapsed = dispatch.blockedNanos >= 0 ? dispatch.blockedNanos : System.nanoTime() - dispatch.start;
+                if (elapsed >= thresholdNanos) {
+                    recordStall(event, elapsed, dispatch.stack);
+                }
+            }
+        }
+    }
+
+    private void sample() {
+        while (true) {
+            try {
+                Thread.sleep(SAMPLE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Thread thread = edt;
+            Dispatch dispatch = current;
+            // Take one stack per stall, while the slow dispatch is still on it
+            if (thread != null && dispatch != null && dispatch.stack == null && dispatch.blockedNanos < 0
+                    && System.nanoTime() - dispatch.start >= thresholdNanos) {
+                StackTraceElement[] stack = thread.getStackTrace();
+                if (current == dispatch && dispatch.blockedNanos < 0) {
+                    dispatch.stack = stack;
+                }
+            }
+        }
+    }
+
+    private void recordStall(AWTEvent event, long elapsedNanos, StackTraceElement[] stack) {
+        if (stack == null) stack = new StackTraceElement[0];
+        String window = describeWindow(event);
+        String attributedTo = attribute(stack, window);
+        Stall stall = new Stall(new Date(), elapsedNanos / 1_000_000L, attributedTo, window,
+            describeEvent(event), stack);
+        synchronized (this) {
+            stalls.addFirst(stall);
+            while (stalls.size() > MAX_STALLS) stalls.removeLast();
+        }
+        System.out.println("⚠ UI stall " + stall.durationMillis + " ms in " + attributedTo);
+        // Keep file I/O off the EDT
+        logWriter.execute(() -> writeLog(stall));
+    }
+
+    /**
+     * First application frame on the stack; falls back to the event's window.
+     */
+    private static String attribute(StackTraceElement[] stack, String window) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            int inner = className.indexOf('$');
+            String outer = inner > 0 ? className.substring(0, inner) : className;
+            if (APP_CLASSES.contains(outer)) {
+                return outer + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+            }
+        }
+        return window;
+    }
+
+    private static String describeWindow(AWTEvent event) {
+        Object source = event.getSource();
+        Window window = null;
+        if (source instanceof Window) {
+            window = (Window) source;
+        } else if (source instanceof Component) {
+            window = SwingUtilities.getWindowAncestor((Component) source);
+        }
+        if (window == null) return "(no window)";
+        String title = window instanceof Frame ? ((Frame) window).getTitle()
+            : window instanceof Dialog ? ((Dialog) window).getTitle() : "";
+        return window.getClass().getSimpleName() + (title == null || title.isEmpty() ? "" : " \"" + title + "\"");
+    }
+
+    private static String describeEvent(AWTEvent event) {
+        String name = event.getClass().getSimpleName();
+        Object source = event.getSource();
+        return source == null ? name : name + " on " + source.getClass().getSimpleName();
+    }
+
+    private void writeLog(Stall stall) {
+        if (logFile == null || logFile.isEmpty()) return;
+        try (PrintWriter out = new PrintWriter(new FileWriter(logFile, true))) {
+            out.println(new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS").format(stall.time)
+                + " stall " + stall.durationMillis + " ms in " + stall.attributedTo
+                + " [" + stall.window + ", " + stall.event + "]");
+            for (StackTraceElement frame : stall.stack) {
+                out.println("    at " + frame);
+            }
+            out.println();
+        } catch (IOException e) {
+            System.err.println("Error writing EDT stall log: " + e.getMessage());
+        }
+    }
+}
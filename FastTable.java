@@ -0,0 +1,222 @@
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Font;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingConstants;
+import javax.swing.UIManager;
+import javax.swing.border.Border;
+import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableCellRenderer;
+
+/**
+ * FastTable.java - Table for Large Read-Only Datasets
+ *
+ * A JTable that stays smooth with 100k+ rows. Rows are set in one go and
+ * the display text and color of every cell are computed right then, so
+ * painting a cell only looks them up: one shared renderer, fonts, colors
+ * and borders cached, nothing allocated per paint. Rows all have the same
+ * height, which keeps row lookups in JTable constant-time, and only the
+ * visible rows are ever painted.
+ *
+ * The model keeps the raw row values; getValueAt returns those, not the
+ * display text. Sorting and editing are not supported.
+ */
+public class FastTable extends JTable {
+
+    private static final Border NO_FOCUS_BORDER = new EmptyBorder(1, 1, 1, 1);
+
+    /** How one column's cells are displayed. */
+    private static final class ColumnFormat {
+        Function<Object, String> text = value -> value == null ? "" : value.toString();
+        ToIntFunction<Object> colorIndex = value -> 0;
+        Color[] colors = new Color[1];   // null: the table's foreground
+        int alignment = JLabel.LEFT;
+    }
+
+    private final Model model;
+    private final ColumnFormat[] formats;
+    private final Renderer renderer = new Renderer();
+
+    public FastTable(String[] columnNames, int rowHeight) {
+        this.model = new Model(columnNames);
+        this.formats = new ColumnFormat[columnNames.length];
+        for (int i = 0; i < formats.length; i++) {
+            formats[i] = new ColumnFormat();
+        }
+        setModel(model);
+        setRowHeight(rowHeight);
+        setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        setDefaultRenderer(Object.class, renderer);
+        setFillsViewportHeight(true);
+        renderer.setFont(getFont());
+    }
+
+    /**
+     * Sets how a column's values are shown. colorIndex picks the text color from colors
+     * (a null color means the table's foreground). Call before setRows.
+     */
+    public void setColumnFormat(int column, Function<Object, String> text, ToIntFunction<Object> colorIndex,
+            Color... colors) {
+        ColumnFormat format = formats[column];
+        format.text = text;
+        format.colorIndex = colorIndex;
+        format.colors = colors.length == 0 ? new Color[1] : colors;
+    }
+
+    public void setColumnAlignment(int column, int alignment) {
+        formats[column].alignment = alignment;
+    }
+
+    /**
+     * Replaces all rows and precomputes their display state.
+     */
+    public void setRows(List<Object[]> rows) {
+        int columns = formats.length;
+        String[][] texts = new String[rows.size()][];
+        byte[][] colors = new byte[rows.size()][];
+        for (int r = 0; r < texts.length; r++) {
+            Object[] row = rows.get(r);
+            String[] rowTexts = new String[columns];
+            byte[] rowColors = new byte[columns];
+            for (int c = 0; c < columns; c++) {
+                Object value = c < row.length ? row[c] : null;
+                String text = formats[c].text.apply(value);
+                rowTexts[c] = text != null ? text : "";
+                rowColors[c] = (byte) formats[c].colorIndex.applyAsInt(value);
+            }
+            texts[r] = rowTexts;
+            colors[r] = rowColors;
+        }
+        model.setRows(new ArrayList<>(rows), texts, colors);
+    }
+
+    public Model getFastModel() {
+        return model;
+    }
+
+    @Override
+    public void updateUI() {
+        super.updateUI();
+        if (renderer != null) {
+            renderer.updateUI();
+            renderer.cacheLookAndFeel();
+        }
+    }
+
+    @Override
+    public void setFont(Font font) {
+        super.setFont(font);
+        if (renderer != null) renderer.setFont(font);
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        if (orientation == SwingConstants.VERTICAL) return getRowHeight();
+        return super.getScrollableUnitIncrement(visibleRect, orientation, direction);
+    }
+
+    /** Raw row values plus their precomputed display state. */
+    public static final class Model extends AbstractTableModel {
+        private final String[] columnNames;
+        private List<Object[]> rows = new ArrayList<>();
+        private String[][] texts = new String[0][];
+        private byte[][] colors = new byte[0][];
+
+        Model(String[] columnNames) {
+            this.columnNames = Arrays.copyOf(columnNames, columnNames.length);
+        }
+
+        void setRows(List<Object[]> rows, String[][] texts, byte[][] colors) {
+            this.rows = rows;
+            this.texts = texts;
+            this.colors = colors;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columnNames.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columnNames[column];
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            Object[] values = rows.get(row);
+            return column < values.length ? values[column] : null;
+        }
+
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    }
+
+    /**
+     * The one renderer for every cell. Like DefaultTableCellRenderer it skips the
+     * revalidation and property change events a plain label would fire.
+     */
+    private final class Renderer extends JLabel implements TableCellRenderer {
+        private Border focusBorder = NO_FOCUS_BORDER;
+
+        Renderer() {
+            setOpaque(true);
+            setBorder(NO_FOCUS_BORDER);
+            cacheLookAndFeel();
+        }
+
+        void cacheLookAndFeel() {
+            Border border = UIManager.getBorder("Table.focusCellHighlightBorder");
+            focusBorder = border != null ? border : NO_FOCUS_BORDER;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                boolean hasFocus, int row, int column) {
+            int modelRow = table.convertRowIndexToModel(row);
+            int modelColumn = table.convertColumnIndexToModel(column);
+            ColumnFormat format = formats[modelColumn];
+            Color color = format.colors[model.colors[modelRow][modelColumn]];
+            if (isSelected) {
+                setBackground(table.getSelectionBackground());
+                setForeground(color != null ? color : table.getSelectionForeground());
+            } else {
+                setBackground(table.getBackground());
+                setForeground(color != null ? color : table.getForeground());
+            }
+            setBorder(hasFocus ? focusBorder : NO_FOCUS_BORDER);
+            setHorizontalAlignment(format.alignment);
+            setText(model.texts[modelRow][modelColumn]);
+            return this;
+        }
+
+        // Same shortcuts as DefaultTableCellRenderer: the label is only used to paint
+
+        @Override public boolean isOpaque() { return true; }
+        @Override public void invalidate() { }
+        @Override public void validate() { }
+        @Override public void revalidate() { }
+        @Override public void repaint(long tm, int x, int y, int width, int height) { }
+        @Override public void repaint(Rectangle r) { }
+        @Override public void repaint() { }
+        @Override protected void firePropertyChange(String propertyName, Object oldValue, Object newValue) { }
+        @Override public void firePropertyChange(String propertyName, boolean oldValue, boolean newValue) { }
+    }
+}
@@ -0,0 +1,190 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * JobSnapshot.java - Local Job List Snapshot
+ *
+ * Keeps a compact binary copy of the job table next to the application so
+ * the job list can be shown at once on startup, before the database has
+ * answered. The file is memory-mapped for reading and rewritten whenever the
+ * jobs loaded from the database differ from it. It is only a display cache:
+ * the database stays authoritative and a missing or damaged file is ignored.
+ * preload() decodes it at launch, in parallel with the database connecting;
+ * encoding and writing happen on the snapshot thread.
+ *
+ * Format: "JOBS" magic, format version, row count, column count, then every
+ * cell as a length-prefixed UTF-8 string (length -1 for null).
+ *
+ *   -Djoblisting.snapshot.file=job_snapshot.bin
+ *   -Djoblisting.snapshot.enabled=false   always load from the database
+ */
+public final class JobSnapshot {
+
+    private static final int MAGIC = 0x4A4F4253;
+    private static final int FORMAT_VERSION = 1;
+    private static final int COLUMNS = 6;
+
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("joblisting.snapshot.enabled", "true"));
+    private static final Path FILE = Paths.get(System.getProperty("joblisting.snapshot.file", "job_snapshot.bin"));
+    // New snapshots land here first; see promotePending()
+    private static final Path PENDING = Paths.get(FILE + ".new");
+
+    private static final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "job-snapshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Checksum of the snapshot file as last read or written
+    private static volatile long currentChecksum = -1;
+    private static volatile CompletableFuture<List<String[]>> preloaded;
+
+    private JobSnapshot() { }
+
+    /**
+     * Starts reading the snapshot on the snapshot thread; the next read() returns that result.
+     */
+    public static void preload() {
+        if (ENABLED) preloaded = CompletableFuture.supplyAsync(JobSnapshot::readFile, writer);
+    }
+
+    /**
+     * Rows in getAllJobs() format, or an empty list if there is no usable snapshot.
+     */
+    public static List<String[]> read() {
+        if (!ENABLED) return Collections.emptyList();
+        CompletableFuture<List<String[]>> pending = preloaded;
+        if (pending != null) {
+            preloaded = null;
+            return pending.join();
+        }
+        return readFile();
+    }
+
+    private static List<String[]> readFile() {
+        promotePending();
+        try (FileChannel channel = FileChannel.open(FILE, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            List<String[]> jobs = decode(buffer);
+            CRC32 crc = new CRC32();
+            crc.update(buffer.rewind());
+            currentChecksum = crc.getValue();
+            return jobs;
+        } catch (NoSuchFileException e) {
+            return Collections.emptyList();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable job snapshot: " + e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Replaces the snapshot in the background unless it already holds these rows.
+     * The list is encoded on the snapshot thread, so the caller must not change it.
+     */
+    public static void writeIfChanged(List<String[]> jobs) {
+        if (!ENABLED) return;
+        writer.execute(() -> {
+            byte[] data = encode(jobs);
+            CRC32 crc = new CRC32();
+            crc.update(data);
+            if (crc.getValue() == currentChecksum) return;
+            currentChecksum = crc.getValue();
+            try {
+                Files.write(PENDING, data);
+                Files.move(PENDING, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // On Windows a file that is still mapped cannot be replaced; the pending
+                // file is promoted on the next start instead
+                System.err.println("Job snapshot saved for next start: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Moves a snapshot that could not replace the old one into place, before anything maps it.
+     */
+    private static void promotePending() {
+        if (!Files.exists(PENDING)) return;
+        try {
+            Files.move(PENDING, FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not promote pending job snapshot: " + e.getMessage());
+        }
+    }
+
+    private static byte[] encode(List<String[]> jobs) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + jobs.size() * 256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(jobs.size());
+            out.writeInt(COLUMNS);
+            for (String[] job : jobs) {
+                for (int c = 0; c < COLUMNS; c++) {
+                    String value = c < job.length ? job[c] : null;
+                    if (value == null) {
+                        out.writeInt(-1);
+                    } else {
+                        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                        out.writeInt(utf8.length);
+                        out.write(utf8);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory stream
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<String[]> decode(ByteBuffer in) {
+        if (in.remaining() < 16 || in.getInt() != MAGIC || in.getInt() != FORMAT_VERSION) {
+            throw new IllegalArgumentException("not a job snapshot (or an older format)");
+        }
+        int rows = in.getInt();
+        int columns = in.getInt();
+        if (rows < 0 || columns != COLUMNS) {
+            throw new IllegalArgumentException("bad header");
+        }
+        List<String[]> jobs = new ArrayList<>(Math.min(rows, in.remaining() / (4 * COLUMNS)));
+        try {
+            for (int r = 0; r < rows; r++) {
+                String[] job = new String[COLUMNS];
+                for (int c = 0; c < COLUMNS; c++) {
+                    int length = in.getInt();
+                    if (length > in.remaining()) throw new BufferUnderflowException();
+                    if (length >= 0) {
+                        byte[] utf8 = new byte[length];
+                        in.get(utf8);
+                        job[c] = new String(utf8, StandardCharsets.UTF_8);
+                    }
+                }
+                jobs.add(job);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("truncated");
+        }
+        return jobs;
+    }
+}
@@ -0,0 +1,226 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JobStats.java - Per-Job Applicant Statistics
+ *
+ * Applicant counts by status, applications per day and time-to-decision
+ * for one job. The numbers live in the job_stats and job_stats_daily tables
+ * and are updated incrementally, in the same transaction as the application
+ * change, so reading them never scans the applications table.
+ *
+ * Time-to-decision only covers applications decided since decided_at was
+ * recorded (schema v5); older decisions still count as approved/rejected.
+ */
+public class JobStats {
+
+    public static final JobStats EMPTY = new JobStats(0, 0, 0, 0, 0, 0, 0, 0);
+
+    public final int jobId;
+    public final int total;
+    public final int pending;
+    public final int approved;
+    public final int rejected;
+    public final int lastWeek;
+    public final int decisions;
+    public final long decisionSeconds;
+
+    JobStats(int jobId, int total, int pending, int approved, int rejected, int lastWeek,
+             int decisions, long decisionSeconds) {
+        this.jobId = jobId;
+        this.total = total;
+        this.pending = pending;
+        this.approved = approved;
+        this.rejected = rejected;
+        this.lastWeek = lastWeek;
+        this.decisions = decisions;
+        this.decisionSeconds = decisionSeconds;
+    }
+
+    /**
+     * Average hours from applying to a decision, or -1 if nothing was decided yet.
+     */
+    public double getAverageDecisionHours() {
+        return decisions == 0 ? -1 : decisionSeconds / 3600.0 / decisions;
+    }
+
+    // ============== READING ==============
+
+    /**
+     * Stats for every job with at least one application, keyed by job id (two queries).
+     */
+    static Map<Integer, JobStats> loadAll(Connection conn) throws SQLException {
+        Map<Integer, Integer> lastWeek = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT job_id, SUM(applications) FROM job_stats_daily " +
+                 "WHERE stat_date > DATEADD('DAY', -7, CURRENT_DATE) GROUP BY job_id")) {
+            while (rs.next()) {
+                lastWeek.put(rs.getInt(1), rs.getInt(2));
+            }
+        }
+        Map<Integer, JobStats> stats = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT job_id, total, pending, approved, rejected, decisions, decision_seconds FROM job_stats")) {
+            while (rs.next()) {
+                int jobId = rs.getInt(1);
+                stats.put(jobId, new JobStats(jobId, rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getInt(5),
+                    lastWeek.getOrDefault(jobId, 0), rs.getInt(6), rs.getLong(7)));
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Applications per day for one job over the last days, oldest first, as {date, count}.
+     * Days without applications are left out.
+     */
+    static List<Object[]> loadDaily(Connection conn, int jobId, int days) throws SQLException {
+        List<Object[]> daily = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT stat_date, applications FROM job_stats_daily " +
+                "WHERE job_id = ? AND stat_date > DATEADD('DAY', ?, CURRENT_DATE) ORDER BY stat_date")) {
+            ps.setInt(1, jobId);
+            ps.setInt(2, -days);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    daily.add(new Object[]{rs.getDate(1), rs.getInt(2)});
+                }
+            }
+        }
+        return daily;
+    }
+
+    // ============== INCREMENTAL UPDATES ==============
+
+    /**
+     * Counts a new (pending) application. Call in the inserting transaction.
+     */
+    static void recordApplication(Connection conn, int jobId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "MERGE INTO job_stats s USING (VALUES (CAST(? AS INT))) v(job_id) ON s.job_id = v.job_id " +
+                "WHEN MATCHED THEN UPDATE SET total = s.total + 1, pending = s.pending + 1, " +
+                "last_applied_at = CURRENT_TIMESTAMP " +
+                "WHEN NOT MATCHED THEN INSERT (job_id, total, pending, last_applied_at) " +
+                "VALUES (v.job_id, 1, 1, CURRENT_TIMESTAMP)")) {
+            ps.setInt(1, jobId);
+            ps.executeUpdate();
+        }
+        try (PreparedStatement ps = conn.prepareStatement(
+                "MERGE INTO job_stats_daily d USING (VALUES (CAST(? AS INT), CURRENT_DATE)) v(job_id, stat_date) " +
+                "ON d.job_id = v.job_id AND d.stat_date = v.stat_date " +
+                "WHEN MATCHED THEN UPDATE SET applications = d.applications + 1 " +
+                "WHEN NOT MATCHED THEN INSERT (job_id, stat_date, applications) VALUES (v.job_id, v.stat_date, 1)")) {
+            ps.setInt(1, jobId);
+            ps.executeUpdate();
+        }
+    }
+
+    /** Counter changes for one job, collected while applications change status. */
+    static final class Delta {
+        int pending;
+        int approved;
+        int rejected;
+        int decisions;
+        long decisionSeconds;
+
+        /**
+         * Moves one application between status buckets; a first decision also counts its wait.
+         */
+        void statusChanged(String from, String to, long secondsSinceApplied, boolean firstDecision) {
+            add(from, -1);
+            add(to, 1);
+            if (firstDecision) {
+                decisions++;
+                decisionSeconds += secondsSinceApplied;
+            }
+        }
+
+        private void add(String status, int n) {
+            if ("Pending".equals(status)) pending += n;
+            else if ("Approved".equals(status)) approved += n;
+            else if ("Rejected".equals(status)) rejected += n;
+        }
+    }
+
+    /**
+     * Applies collected deltas in one batch. Call in the status-changing transaction.
+     */
+    static void apply(Connection conn, Map<Integer, Delta> deltas) throws SQLException {
+        if (deltas.isEmpty()) return;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "UPDATE job_stats SET pending = pending + ?, approved = approved + ?, rejected = rejected + ?, " +
+                "decisions = decisions + ?, decision_seconds = decision_seconds + ? WHERE job_id = ?")) {
+            for (Map.Entry<Integer, Delta> entry : deltas.entrySet()) {
+                Delta d = entry.getValue();
+                ps.setInt(1, d.pending);
+                ps.setInt(2, d.approved);
+                ps.setInt(3, d.rejected);
+                ps.setInt(4, d.decisions);
+                ps.setLong(5, d.decisionSeconds);
+                ps.setInt(6, entry.getKey());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ============== REBUILDING ==============
+
+    /**
+     * Recomputes the stats of the given jobs from their applications (index lookups
+     * on job_id), e.g. after applications were deleted.
+     */
+    static void rebuild(Connection conn, Collection<Integer> jobIds) throws SQLException {
+        if (jobIds.isEmpty()) return;
+        try (PreparedStatement deleteStats = conn.prepareStatement("DELETE FROM job_stats WHERE job_id = ?");
+             PreparedStatement deleteDaily = conn.prepareStatement("DELETE FROM job_stats_daily WHERE job_id = ?");
+             PreparedStatement insertStats = conn.prepareStatement(STATS_SELECT + " WHERE job_id = ? GROUP BY job_id");
+             PreparedStatement insertDaily = conn.prepareStatement(DAILY_SELECT + " WHERE job_id = ? " + DAILY_GROUP)) {
+            for (int jobId : jobIds) {
+                for (PreparedStatement ps : new PreparedStatement[]{deleteStats, deleteDaily, insertStats, insertDaily}) {
+                    ps.setInt(1, jobId);
+                    ps.addBatch();
+                }
+            }
+            deleteStats.executeBatch();
+            deleteDaily.executeBatch();
+            insertStats.executeBatch();
+            insertDaily.executeBatch();
+        }
+    }
+
+    /**
+     * Recomputes every job's stats with one pass over applications.
+     */
+    static void rebuildAll(Statement stmt) throws SQLException {
+        stmt.execute("DELETE FROM job_stats_daily");
+        stmt.execute("DELETE FROM job_stats");
+        stmt.execute(STATS_SELECT + " WHERE job_id IS NOT NULL GROUP BY job_id");
+        stmt.execute(DAILY_SELECT + " WHERE job_id IS NOT NULL " + DAILY_GROUP);
+    }
+
+    private static final String STATS_SELECT =
+        "INSERT INTO job_stats (job_id, total, pending, approved, rejected, decisions, decision_seconds, last_applied_at) " +
+        "SELECT job_id, COUNT(*), " +
+        "SUM(CASE WHEN status = 'Pending' THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN status = 'Approved' THEN 1 ELSE 0 END), " +
+        "SUM(CASE WHEN status = 'Rejected' THEN 1 ELSE 0 END), " +
+        "COUNT(decided_at), " +
+        "COALESCE(SUM(DATEDIFF('SECOND', applied_at, decided_at)), 0), " +
+        "MAX(applied_at) FROM applications";
+
+    private static final String DAILY_SELECT =
+        "INSERT INTO job_stats_daily (job_id, stat_date, applications) " +
+        "SELECT job_id, CAST(applied_at AS DATE), COUNT(*) FROM applications";
+    private static final String DAILY_GROUP = "GROUP BY job_id, CAST(applied_at AS DATE)";
+}
@@ -7,8 +7,10 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 
 /**
  * JobListFrame.java - Separate JFrame for Job Listing Table
@@ -124,9 +126,21 @@ public class JobListFrame extends JFrame {
         
         contentPanel.add(searchPanel, BorderLayout.NORTH);
         
-        // Table
-        tableModel = new DefaultTableModel(AppTheme.JOB_COLUMNS, 0) {
+        // Table (admins also see applicant statistics per job)
+        boolean showStats = "Admin".equals(currentUserRole);
+        String[] columns = AppTheme.JOB_COLUMNS;
+        if (showStats) {
+            columns = Arrays.copyOf(columns, columns.length + AppTheme.JOB_STATS_COLUMNS.length);
+            System.arraycopy(AppTheme.JOB_STATS_COLUMNS, 0, columns, AppTheme.JOB_COLUMNS.length,
+                AppTheme.JOB_STATS_COLUMNS.length);
+        }
+        tableModel = new DefaultTableModel(columns, 0) {
             public boolean isCellEditable(int row, int column) { return false; }
+            // Count columns sort numerically
+            public Class<?> getColumnClass(int column) {
+                int stat = column - AppTheme.JOB_COLUMNS.length;
+                return stat >= 0 && stat < 5 ? Integer.class : Object.class;
+            }
         };
         
         table = new JTable(tableModel);
@@ -186,6 +200,8 @@ public class JobListFrame extends JFrame {
             }
         });
         
+        table.setDefaultRenderer(Integer.class, table.getDefaultRenderer(Object.class));
+        
         // Column widths
         table.getColumnModel().getColumn(0).setPreferredWidth(50);
         table.getColumnModel().getColumn(1).setPreferredWidth(150);
@@ -193,6 +209,9 @@ public class JobListFrame extends JFrame {
         table.getColumnModel().getColumn(3).setPreferredWidth(120);
         table.getColumnModel().getColumn(4).setPreferredWidth(100);
         table.getColumnModel().getColumn(5).setPreferredWidth(200);
+        for (int c = AppTheme.JOB_COLUMNS.length; c < columns.length; c++) {
+            table.getColumnModel().getColumn(c).setPreferredWidth(85);
+        }
         
         sorter = new TableRowSorter<>(tableModel);
         table.setRowSorter(sorter);
@@ -255,8 +274,15 @@ public class JobListFrame extends JFrame {
         try {
             tableModel.setRowCount(0);
             List<String[]> jobs = dbManager.getAllJobs();
+            // All jobs' statistics in one read of the stats tables, not a query per row
+            Map<Integer, JobStats> stats = tableModel.getColumnCount() > AppTheme.JOB_COLUMNS.length
+                ? dbManager.getJobStats() : null;
             for (String[] job : jobs) {
-                tableModel.addRow(job);
+                if (stats == null) {
+                    tableModel.addRow(job);
+                } else {
+                    tableModel.addRow(withStats(job, stats.getOrDefault(Integer.parseInt(job[0]), JobStats.EMPTY)));
+                }
             }
             System.out.println("✓ Loaded " + jobs.size() + " jobs");
         } catch (SQLException e) {
@@ -264,6 +290,19 @@ public class JobListFrame extends JFrame {
         }
     }
     
+    private static Object[] withStats(String[] job, JobStats s) {
+        Object[] row = Arrays.copyOf(job, AppTheme.JOB_COLUMNS.length + AppTheme.JOB_STATS_COLUMNS.length, Object[].class);
+        int c = AppTheme.JOB_COLUMNS.length;
+        row[c++] = s.total;
+        row[c++] = s.pending;
+        row[c++] = s.approved;
+        row[c++] = s.rejected;
+        row[c++] = s.lastWeek;
+        double hours = s.getAverageDecisionHours();
+        row[c] = hours < 0 ? "-" : hours < 48 ? String.format("%.1f h", hours) : String.format("%.1f d", hours / 24);
+        return row;
+    }
+    
     private void filterTable(String query) {
         sorter.setRowFilter(query.trim().isEmpty() ? null : RowFilter.regexFilter("(?i)" + query));
     }
@@ -389,9 +428,10 @@ public class JobListFrame extends JFrame {
                 int row = table.getSelectedRow();
                 if (row >= 0 && dialogManager != null) {
                     int modelRow = table.convertRowIndexToModel(row);
+                    int jobId = Integer.parseInt(String.valueOf(tableModel.getValueAt(modelRow, 0)));
                     String jobTitle = String.valueOf(tableModel.getValueAt(modelRow, 1));
                     String company = String.valueOf(tableModel.getValueAt(modelRow, 2));
-                    dialogManager.showApplyJobDialog(jobTitle, company);
+                    dialogManager.showApplyJobDialog(jobId, jobTitle, company);
                 }
             });
             contextMenu.add(applyItem);
@@ -539,6 +579,7 @@ public class JobListFrame extends JFrame {
         }
         
         int modelRow = table.convertRowIndexToModel(row);
+        int jobId = Integer.parseInt(String.valueOf(tableModel.getValueAt(modelRow, 0)));
         String jobTitle = String.valueOf(tableModel.getValueAt(modelRow, 1));
         String company = String.valueOf(tableModel.getValueAt(modelRow, 2));
         
@@ -557,7 +598,7 @@ public class JobListFrame extends JFrame {
             } else {
                 // Resume exists - show apply dialog with resume info pre-filled
                 if (dialogManager != null) {
-                    dialogManager.showApplyJobDialog(jobTitle, company);
+                    dialogManager.showApplyJobDialog(jobId, jobTitle, company);
                 }
             }
         } catch (SQLException e) {
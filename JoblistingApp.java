@@ -8,7 +8,10 @@ import java.io.IOException;
 import java.sql.SQLException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * JobListingApp.java - Main Application
@@ -35,40 +38,104 @@ public class JobListingApp extends JFrame {
     private JButton btnDelete;
     private TableRowSorter<DefaultTableModel> sorter;
     
-    // Managers
-    private DatabaseManager dbManager;
+    // Managers (dbManager is set once the database future completes)
+    private volatile DatabaseManager dbManager;
+    private final CompletableFuture<DatabaseManager> database;
     private DialogManager dialogManager;
+    private JLabel dbStatus;
     
     // User Session
     private String currentUser = null;
     private String currentUserRole = null;
 
     public JobListingApp() {
+        this(startDatabase());
+    }
+    
+    /**
+     * @param started database initialization already running in the background
+     */
+    public JobListingApp(CompletableFuture<DatabaseManager> started) {
         super("Job Listing System");
+        long start = StartupTimer.start();
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(500, 400);
         setLocationRelativeTo(null);
         getContentPane().setBackground(AppTheme.BG_COLOR);
         
-        initializeDatabase();
+        database = started.handle((db, error) -> {
+            dbManager = error == null ? db : null;
+            SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    UIHelper.showErrorDialog(this, "Database Error: " + error.getMessage());
+                } else if (!db.isConnected()) {
+                    UIHelper.showErrorDialog(this, "Failed to connect to database.");
+                }
+                updateDbStatus();
+            });
+            return dbManager;
+        });
         showAuthScreen();
         setVisible(true);
+        StartupTimer.record("Sign-in screen built", start);
+        
+        // Queued behind the first repaint, so this runs once the screen is painted
+        CompletableFuture<Void> painted = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> {
+            StartupTimer.record("Sign-in screen painted", start);
+            painted.complete(null);
+        });
+        CompletableFuture.allOf(painted, database).thenRun(StartupTimer::report);
     }
     
-    private void initializeDatabase() {
-        try {
-            dbManager = DatabaseManager.getInstance();
-            if (dbManager.isConnected()) {
-                System.out.println("✓ Database initialized successfully!");
-                dbManager.addSampleJobs();
-            } else {
-                UIHelper.showErrorDialog(this, "Failed to connect to database.");
+    /**
+     * Connects and migrates the schema on a background thread, so it runs
+     * while the UI is built and the user types.
+     */
+    private static CompletableFuture<DatabaseManager> startDatabase() {
+        CompletableFuture<DatabaseManager> started = new CompletableFuture<>();
+        Thread init = new Thread(() -> {
+            try {
+                DatabaseManager db = DatabaseManager.getInstance();
+                if (db.isConnected()) {
+                    System.out.println("✓ Database initialized successfully!");
+                }
+                started.complete(db);
+            } catch (Exception e) {
+                e.printStackTrace();
+                started.completeExceptionally(e);
             }
-        } catch (Exception e) {
-            UIHelper.showErrorDialog(this, "Database Error: " + e.getMessage());
-            e.printStackTrace();
+        }, "db-init");
+        init.setDaemon(true);
+        init.start();
+        return started;
+    }
+    
+    /**
+     * Waits for the background init; null if the database could not be opened.
+     * Never call this on the EDT.
+     */
+    private DatabaseManager awaitDatabase() {
+        return database.join();
+    }
+    
+    private void updateDbStatus() {
+        if (dbStatus == null) return;
+        if (!database.isDone()) {
+            dbStatus.setText("🟡 Connecting to database...");
+        } else {
+            dbStatus.setText(dbManager != null && dbManager.isConnected() ? "🟢 Database Connected" : "🔴 Database Disconnected");
         }
     }
+    
+    /**
+     * Logs how long it took until a screen was painted. Runs after the
+     * repaints already queued, so it fires right after they are done.
+     */
+    private static void logWhenPainted(String screen, long sinceNanos) {
+        SwingUtilities.invokeLater(() -> System.out.println(
+            "✓ " + screen + " painted after " + (System.nanoTime() - sinceNanos) / 1_000_000 + " ms"));
+    }
 
     // ============== AUTH SCREEN ==============
     
@@ -118,7 +185,8 @@ public class JobListingApp extends JFrame {
         card.add(titleLabel);
         
         // DB Status
-        JLabel dbStatus = new JLabel(dbManager != null && dbManager.isConnected() ? "🟢 Database Connected" : "🔴 Database Disconnected");
+        dbStatus = new JLabel();
+        updateDbStatus();
         dbStatus.setFont(new Font("Segoe UI", Font.PLAIN, 10));
         dbStatus.setForeground(AppTheme.TEXT_SECONDARY);
         dbStatus.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -178,12 +246,32 @@ public class JobListingApp extends JFrame {
                 return;
             }
             
-            if (login(username, password)) {
-                currentUser = username;
-                dialogManager = new DialogManager(this, dbManager, currentUser);
-                dialogManager.setRefreshCallback(() -> showJobListingScreen());
-                showJobListingScreen();
-            }
+            // Password hashing is deliberately slow, keep it off the EDT
+            btnLogin.setEnabled(false);
+            new SwingWorker<String, Void>() {
+                protected String doInBackground() throws Exception {
+                    // Test users skip the database here; their job screen starts as a preview
+                    return authenticate(username, password);
+                }
+                protected void done() {
+                    btnLogin.setEnabled(true);
+                    try {
+                        String role = get();
+                        if (role == null) {
+                            UIHelper.showErrorDialog(JobListingApp.this, "Invalid username or password!");
+                            return;
+                        }
+                        currentUserRole = role;
+                        currentUser = username;
+                        dialogManager = null;
+                        showJobListingScreen();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    } catch (java.util.concurrent.ExecutionException ex) {
+                        UIHelper.showErrorDialog(JobListingApp.this, "Database error: " + ex.getCause().getMessage());
+                    }
+                }
+            }.execute();
         });
         card.add(btnLogin);
         card.add(Box.createVerticalStrut(15));
@@ -315,49 +403,55 @@ public class JobListingApp extends JFrame {
     }
 
     private boolean signup(String username, String password, String role) {
+        if (!database.isDone()) {
+            UIHelper.showWarningDialog(this, "Still connecting to the database, please try again in a moment.");
+            return false;
+        }
         try {
             if (dbManager.userExists(username)) {
                 UIHelper.showErrorDialog(this, "Username already exists!");
                 return false;
             }
-            return dbManager.addUser(username, password, role);
+            return dbManager.addUser(username, password, null, role);
         } catch (SQLException e) {
             UIHelper.showErrorDialog(this, "Database error: " + e.getMessage());
             return false;
         }
     }
 
-    private boolean login(String username, String password) {
+    /**
+     * Checks the credentials and returns the user's role, or null if invalid.
+     * Runs on a background thread, so it must not touch Swing components.
+     */
+    private String authenticate(String username, String password) throws SQLException {
         // Test users (work without database)
         if ("admin".equals(username) && "admin".equals(password)) {
-            currentUserRole = "Admin";
-            return true;
+            return "Admin";
         }
         if ("user".equals(username) && "user".equals(password)) {
-            currentUserRole = "Customer";
-            return true;
+            return "Customer";
         }
         
         // Database login
-        try {
-            if (dbManager != null && dbManager.isConnected()) {
-                String role = dbManager.validateLogin(username, password);
-                if (role != null) {
-                    currentUserRole = role;
-                    return true;
-                }
-            }
-            UIHelper.showErrorDialog(this, "Invalid username or password!");
-            return false;
-        } catch (SQLException e) {
-            UIHelper.showErrorDialog(this, "Database error: " + e.getMessage());
-            return false;
+        DatabaseManager db = awaitDatabase();
+        if (db != null && db.isConnected()) {
+            return db.validateLogin(username, password);
         }
+        return null;
     }
 
     // ============== MAIN JOB LISTING SCREEN ==============
     
+    /**
+     * Builds the job screen. While the database is still starting it is a preview
+     * (snapshot rows only, nothing that needs the database) and is rebuilt once
+     * the database is ready.
+     */
     private void showJobListingScreen() {
+        if (dialogManager == null && dbManager != null) {
+            dialogManager = new DialogManager(this, dbManager, currentUser);
+            dialogManager.setRefreshCallback(() -> showJobListingScreen());
+        }
         getContentPane().removeAll();
         setLayout(new BorderLayout());
         getContentPane().setBackground(AppTheme.BG_COLOR);
@@ -380,16 +474,46 @@ public class JobListingApp extends JFrame {
             add(createCustomerPanel(), BorderLayout.EAST);
         }
         
+        // Paint the last known jobs right away, then catch up with the database
+        long shownAt = System.nanoTime();
+        List<String[]> snapshot = JobSnapshot.read();
+        for (String[] job : snapshot) {
+            tableModel.addRow(job);
+        }
         loadJobsFromDatabase();
         
         revalidate();
         repaint();
-        
-        if (!isAdmin) {
+        logWhenPainted("Job list (" + snapshot.size() + " jobs from snapshot)", shownAt);
+        
+        if (dbManager == null && !database.isDone()) {
+            String user = currentUser;
+            database.thenRun(() -> SwingUtilities.invokeLater(() -> {
+                if (user.equals(currentUser)) showJobListingScreen();
+            }));
+        } else if (!isAdmin && dbManager != null) {
             SwingUtilities.invokeLater(this::checkCustomerNotifications);
         }
     }
     
+    /**
+     * Runs a dialog action, or tells the user why it cannot open yet.
+     */
+    private void withDialogs(java.util.function.Consumer<DialogManager> action) {
+        if (requireDatabase()) action.accept(dialogManager);
+    }
+    
+    /**
+     * True once the job screen has the database; otherwise says why not.
+     */
+    private boolean requireDatabase() {
+        if (dialogManager != null) return true;
+        UIHelper.showWarningDialog(this, database.isDone()
+            ? "The database is not available."
+            : "Still connecting to the database, please try again in a moment.");
+        return false;
+    }
+    
     private JPanel createHeaderPanel(boolean isAdmin) {
         JPanel headerPanel = new JPanel(new BorderLayout());
         headerPanel.setBackground(AppTheme.PRIMARY_COLOR);
@@ -429,14 +553,14 @@ public class JobListingApp extends JFrame {
         rightHeader.add(roleLabel);
         
         // Notifications
-        if (!isAdmin) {
+        if (!isAdmin && dbManager != null) {
             try {
                 int unreadCount = dbManager.getUnreadNotificationCount(currentUser);
                 String notifText = unreadCount > 0 ? "🔔 (" + unreadCount + ")" : "🔔";
                 Color notifColor = unreadCount > 0 ? AppTheme.DANGER_COLOR : new Color(149, 165, 166);
                 JButton btnNotif = UIHelper.createStyledButton(notifText, notifColor);
                 btnNotif.setPreferredSize(new Dimension(80, 32));
-                btnNotif.addActionListener(e -> dialogManager.showNotificationsDialog());
+                btnNotif.addActionListener(e -> withDialogs(DialogManager::showNotificationsDialog));
                 rightHeader.add(btnNotif);
             } catch (SQLException e) { }
         }
@@ -587,6 +711,20 @@ public class JobListingApp extends JFrame {
         btnRefresh.setAlignmentX(Component.CENTER_ALIGNMENT);
         btnRefresh.addActionListener(e -> loadJobsFromDatabase());
         btnPanel.add(btnRefresh);
+        btnPanel.add(Box.createVerticalStrut(10));
+        
+        JButton btnDiagnostics = UIHelper.createStyledButton("🩺 Diagnostics", AppTheme.TEXT_SECONDARY);
+        btnDiagnostics.setMaximumSize(new Dimension(Integer.MAX_VALUE, 38));
+        btnDiagnostics.setAlignmentX(Component.CENTER_ALIGNMENT);
+        btnDiagnostics.addActionListener(e -> withDialogs(DialogManager::showDiagnosticsDialog));
+        btnPanel.add(btnDiagnostics);
+        btnPanel.add(Box.createVerticalStrut(10));
+        
+        JButton btnAnalytics = UIHelper.createStyledButton("📊 Analytics", AppTheme.PRIMARY_DARK);
+        btnAnalytics.setMaximumSize(new Dimension(Integer.MAX_VALUE, 38));
+        btnAnalytics.setAlignmentX(Component.CENTER_ALIGNMENT);
+        btnAnalytics.addActionListener(e -> withDialogs(DialogManager::showAnalyticsDialog));
+        btnPanel.add(btnAnalytics);
         
         formCard.add(btnPanel);
         
@@ -606,6 +744,12 @@ public class JobListingApp extends JFrame {
             AppTheme.TEXT_PRIMARY
         ));
         
+        if (dbManager == null) {
+            JLabel loadingLabel = new JLabel("Connecting...");
+            loadingLabel.setForeground(AppTheme.TEXT_SECONDARY);
+            statsPanel.add(loadingLabel);
+            return statsPanel;
+        }
         try {
             int totalJobs = dbManager.getAllJobs().size();
             int totalApplications = dbManager.getAllApplications().size();
@@ -673,9 +817,10 @@ public class JobListingApp extends JFrame {
                 return;
             }
             int modelRow = table.convertRowIndexToModel(row);
+            int jobId = Integer.parseInt(String.valueOf(tableModel.getValueAt(modelRow, 0)));
             String jobTitle = String.valueOf(tableModel.getValueAt(modelRow, 1));
             String company = String.valueOf(tableModel.getValueAt(modelRow, 2));
-            dialogManager.showApplyJobDialog(jobTitle, company);
+            withDialogs(d -> d.showApplyJobDialog(jobId, jobTitle, company));
         });
         infoCard.add(btnApply);
         infoCard.add(Box.createVerticalStrut(10));
@@ -683,31 +828,85 @@ public class JobListingApp extends JFrame {
         JButton btnMyApps = UIHelper.createStyledButton("📋 My Applications", AppTheme.PRIMARY_COLOR);
         btnMyApps.setMaximumSize(new Dimension(200, 40));
         btnMyApps.setAlignmentX(Component.CENTER_ALIGNMENT);
-        btnMyApps.addActionListener(e -> dialogManager.showMyApplicationsDialog());
+        btnMyApps.addActionListener(e -> withDialogs(DialogManager::showMyApplicationsDialog));
         infoCard.add(btnMyApps);
         infoCard.add(Box.createVerticalStrut(10));
         
         JButton btnResume = UIHelper.createStyledButton("📄 My Resume", new Color(46, 125, 50));
         btnResume.setMaximumSize(new Dimension(200, 40));
         btnResume.setAlignmentX(Component.CENTER_ALIGNMENT);
-        btnResume.addActionListener(e -> dialogManager.showResumeDialog());
+        btnResume.addActionListener(e -> withDialogs(DialogManager::showResumeDialog));
         infoCard.add(btnResume);
         
         wrapper.add(infoCard, BorderLayout.NORTH);
         return wrapper;
     }
     
+    /**
+     * Loads the jobs in the background and applies only the differences to
+     * the table, so rows already shown (e.g. from the snapshot) stay put.
+     */
     private void loadJobsFromDatabase() {
-        try {
-            tableModel.setRowCount(0);
-            List<String[]> jobs = dbManager.getAllJobs();
-            for (String[] job : jobs) {
-                tableModel.addRow(job);
+        if (dbManager == null) return;
+        DefaultTableModel model = tableModel;
+        long started = System.nanoTime();
+        new SwingWorker<List<String[]>, Void>() {
+            protected List<String[]> doInBackground() throws SQLException {
+                return dbManager.getAllJobs();
+            }
+            protected void done() {
+                try {
+                    List<String[]> jobs = get();
+                    int changes = reconcileJobs(model, jobs);
+                    System.out.println("✓ Loaded " + jobs.size() + " jobs in " + (System.nanoTime() - started) / 1_000_000
+                        + " ms (" + changes + " rows changed)");
+                    JobSnapshot.writeIfChanged(jobs);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    UIHelper.showErrorDialog(JobListingApp.this, "Error loading jobs: " + ex.getCause().getMessage());
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Makes the model match the jobs (newest first): removes missing rows,
+     * updates changed cells and inserts new rows. Returns the rows touched.
+     */
+    private static int reconcileJobs(DefaultTableModel model, List<String[]> jobs) {
+        Map<String, String[]> byId = new HashMap<>();
+        for (String[] job : jobs) {
+            byId.put(job[0], job);
+        }
+        int changes = 0;
+        Map<String, Integer> shown = new HashMap<>();
+        for (int row = model.getRowCount() - 1; row >= 0; row--) {
+            String id = String.valueOf(model.getValueAt(row, 0));
+            String[] job = byId.get(id);
+            if (job == null || shown.containsKey(id)) {
+                model.removeRow(row);
+                changes++;
+                continue;
+            }
+            shown.put(id, row);
+            boolean changed = false;
+            for (int col = 1; col < job.length; col++) {
+                if (!java.util.Objects.equals(model.getValueAt(row, col), job[col])) {
+                    model.setValueAt(job[col], row, col);
+                    changed = true;
+                }
+            }
+            if (changed) changes++;
+        }
+        for (int i = 0; i < jobs.size(); i++) {
+            String[] job = jobs.get(i);
+            if (!shown.containsKey(job[0])) {
+                model.insertRow(Math.min(i, model.getRowCount()), job);
+                changes++;
             }
-            System.out.println("✓ Loaded " + jobs.size() + " jobs");
-        } catch (SQLException e) {
-            UIHelper.showErrorDialog(this, "Error loading jobs: " + e.getMessage());
         }
+        return changes;
     }
     
     private void filterTable(String query) {
@@ -718,6 +917,7 @@ public class JobListingApp extends JFrame {
         btnDelete.addActionListener(e -> {
             int row = table.getSelectedRow();
             if (row == -1) { UIHelper.showWarningDialog(this, "Please select a job."); return; }
+            if (!requireDatabase()) return;
             
             if (UIHelper.showConfirmDialog(this, "Delete this job?", "Confirm") == JOptionPane.YES_OPTION) {
                 int modelRow = table.convertRowIndexToModel(row);
@@ -726,6 +926,7 @@ public class JobListingApp extends JFrame {
                 try {
                     if (dbManager.deleteJob(jobId)) {
                         tableModel.removeRow(modelRow);
+                        loadJobsFromDatabase();
                         clearForm();
                         UIHelper.showSuccessDialog(this, "Job deleted!");
                     }
@@ -807,9 +1008,10 @@ public class JobListingApp extends JFrame {
                 int row = table.getSelectedRow();
                 if (row >= 0 && dialogManager != null) {
                     int modelRow = table.convertRowIndexToModel(row);
+                    int jobId = Integer.parseInt(String.valueOf(tableModel.getValueAt(modelRow, 0)));
                     String jobTitle = String.valueOf(tableModel.getValueAt(modelRow, 1));
                     String company = String.valueOf(tableModel.getValueAt(modelRow, 2));
-                    dialogManager.showApplyJobDialog(jobTitle, company);
+                    dialogManager.showApplyJobDialog(jobId, jobTitle, company);
                 }
             });
             contextMenu.add(applyItem);
@@ -990,7 +1192,14 @@ public class JobListingApp extends JFrame {
     }
 
     public static void main(String[] args) {
+        long start = StartupTimer.start();
+        // Connect first so the database is ready sooner; the UI is built and the job
+        // snapshot decoded meanwhile
+        CompletableFuture<DatabaseManager> database = startDatabase();
+        JobSnapshot.preload();
         try { UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName()); } catch (Exception e) { }
-        SwingUtilities.invokeLater(JobListingApp::new);
+        EdtWatchdog.install();
+        StartupTimer.record("Look and feel", start);
+        SwingUtilities.invokeLater(() -> new JobListingApp(database));
     }
 }
@@ -0,0 +1,106 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NotificationArchiver.java - Notification Archival
+ *
+ * Moves read notifications older than N days from the live notifications
+ * table to notifications_archive, in bounded batches of one transaction each,
+ * so the live inbox stays small. Runs shortly after startup and then on a
+ * fixed schedule on its own daemon thread.
+ */
+public class NotificationArchiver {
+
+    private static final String BATCH_END_SQL =
+        "SELECT MAX(id) FROM (SELECT id FROM notifications " +
+        "WHERE is_read = 1 AND created_at < ? ORDER BY id LIMIT ?)";
+    private static final String COPY_SQL =
+        "INSERT INTO notifications_archive (id, username, job_id, job_title, message, status, is_read, created_at) " +
+        "SELECT id, username, job_id, job_title, message, status, is_read, created_at FROM notifications " +
+        "WHERE is_read = 1 AND created_at < ? AND id <= ?";
+    private static final String DELETE_SQL =
+        "DELETE FROM notifications WHERE is_read = 1 AND created_at < ? AND id <= ?";
+
+    private final DatabaseManager dbManager;
+    private final int olderThanDays;
+    private final int batchSize;
+    private ScheduledExecutorService scheduler;
+
+    public NotificationArchiver(DatabaseManager dbManager, int olderThanDays, int batchSize) {
+        this.dbManager = dbManager;
+        this.olderThanDays = olderThanDays;
+        this.batchSize = batchSize;
+    }
+
+    public synchronized void start(long intervalHours) {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "notification-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int archived = archive();
+                if (archived > 0) {
+                    System.out.println("✓ Archived " + archived + " old notifications");
+                }
+            } catch (SQLException e) {
+                System.err.println("Error archiving notifications: " + e.getMessage());
+            }
+        }, 1, intervalHours * 60, TimeUnit.MINUTES);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Archives all eligible notifications, one batch per transaction.
+     * Returns the number of notifications moved.
+     */
+    public int archive() throws SQLException {
+        Timestamp cutoff = new Timestamp(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(olderThanDays));
+        int total = 0;
+        try (Connection conn = dbManager.openConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement endPs = conn.prepareStatement(BATCH_END_SQL);
+                 PreparedStatement copyPs = conn.prepareStatement(COPY_SQL);
+                 PreparedStatement deletePs = conn.prepareStatement(DELETE_SQL)) {
+                while (true) {
+                    // Highest id among the next batchSize eligible rows
+                    endPs.setTimestamp(1, cutoff);
+                    endPs.setInt(2, batchSize);
+                    int lastId;
+                    try (ResultSet rs = endPs.executeQuery()) {
+                        rs.next();
+                        lastId = rs.getInt(1);
+                        if (rs.wasNull()) break;
+                    }
+
+                    copyPs.setTimestamp(1, cutoff);
+                    copyPs.setInt(2, lastId);
+                    copyPs.executeUpdate();
+
+                    deletePs.setTimestamp(1, cutoff);
+                    deletePs.setInt(2, lastId);
+                    total += deletePs.executeUpdate();
+                    conn.commit();
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+        return total;
+    }
+}
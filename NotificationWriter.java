@@ -0,0 +1,305 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * NotificationWriter.java - Write-Behind Notification Queue
+ *
+ * Collects notification inserts on a bounded queue and writes them on a
+ * background thread in batches: every few milliseconds or every N items,
+ * whichever comes first. Callers only pay for a queue offer. When the queue
+ * is full, callers block for a short while (backpressure) and then fail.
+ * close() drains everything that was accepted before returning.
+ *
+ * Digest notifications carry a digest key (e.g. one per job for new
+ * applications) and are merged into the recipient's unread notification
+ * with the same key: its event_count grows and its message is rewritten
+ * from a template ("{count} new applications for ..."), instead of a new
+ * row being inserted. Once the digest is read, the next event starts a new one.
+ */
+public class NotificationWriter {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO notifications (username, job_id, job_title, message, status, digest_key, event_count) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Only the newest unread digest is updated, in case two clients both started one
+    private static final String MERGE_DIGEST_SQL =
+        "UPDATE notifications SET event_count = event_count + ?, " +
+        "message = REPLACE(?, '{count}', CAST(event_count + ? AS VARCHAR)), status = ? " +
+        "WHERE id = (SELECT MAX(id) FROM notifications WHERE username = ? AND digest_key = ? AND is_read = 0)";
+    private static final int MAX_RETRIES = 3;
+
+    private final ConnectionPool.ConnectionFactory connectionSource;
+    private Connection connection; // worker thread only after construction
+    // {username, jobId (Integer or null), jobTitle, message, status, digestKey, digestTemplate}
+    private final BlockingQueue<Object[]> queue;
+    private final int batchSize;
+    private final long flushMillis;
+    private final long offerTimeoutMillis;
+    private final Thread worker;
+    private volatile boolean running = true;
+    // Held shared by enqueue() from the running check through the offer, and exclusively
+    // by close() to clear running: nothing is accepted after the worker may have drained
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    // Guarded by this: how many accepted items have been written (or given up on)
+    private long enqueued = 0;
+    private long processed = 0;
+    private long dropped = 0;
+
+    public NotificationWriter(ConnectionPool.ConnectionFactory connectionSource, int capacity, int batchSize,
+                              long flushMillis, long offerTimeoutMillis) throws SQLException {
+        this.connectionSource = connectionSource;
+        this.connection = connectionSource.connect();
+        this.connection.setAutoCommit(false);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushMillis = flushMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.worker = new Thread(this::run, "notification-writer");
+        // Not a daemon: the JVM must not exit with accepted notifications unwritten
+        this.worker.start();
+    }
+
+    /**
+     * Queues a notification. Blocks up to the offer timeout if the queue is full.
+     */
+    public void enqueue(String username, Integer jobId, String jobTitle, String message, String status) throws SQLException {
+        enqueue(username, jobId, jobTitle, message, status, null, null);
+    }
+
+    /**
+     * Queues a notification that is merged into the unread digest with the same key, if
+     * there is one. The template's {count} is replaced by the number of merged events.
+     */
+    public void enqueue(String username, Integer jobId, String jobTitle, String message, String status,
+                        String digestKey, String digestTemplate) throws SQLException {
+        boolean accepted;
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new SQLException("Notification writer is closed.");
+            }
+            // Count before offering so a concurrent flush() never misses this item
+            synchronized (this) {
+                enqueued++;
+            }
+            try {
+                accepted = queue.offer(new Object[]{username, jobId, jobTitle, message, status, digestKey, digestTemplate},
+                                       offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                accepted = false;
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        if (!accepted) {
+            synchronized (this) {
+                enqueued--;
+                notifyAll();
+            }
+            throw new SQLException("Notification queue is full. Please try again.");
+        }
+    }
+
+    /**
+     * Waits until every notification queued before this call has been written.
+     */
+    public void flush() {
+        synchronized (this) {
+            long target = enqueued;
+            // Items that were rejected after counting lower enqueued again
+            while (processed < Math.min(target, enqueued) && worker.isAlive()) {
+                try {
+                    wait(100);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting notifications and writes everything still queued. Waits for
+     * enqueue() calls in progress, so everything they accepted is written too.
+     */
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            worker.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing notification writer: " + e.getMessage());
+        }
+    }
+
+    public synchronized long getDroppedCount() {
+        return dropped;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Object[] first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+
+                // Keep collecting until the batch is full or the flush window closes
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMillis);
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) break;
+                    Object[] next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutdown still drains the queue
+                running = false;
+            }
+
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                synchronized (this) {
+                    processed += batch.size();
+                    notifyAll();
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    private void writeBatch(List<Object[]> batch) {
+        for (int attempt = 1; attempt <= MAX_RETRIES; attempt++) {
+            try {
+                write(connection, batch);
+                connection.commit();
+                return;
+            } catch (SQLException e) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ignored) { }
+                System.err.println("Error writing notifications (attempt " + attempt + "): " + e.getMessage());
+                replaceBrokenConnection();
+                try {
+                    Thread.sleep(50L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        synchronized (this) {
+            dropped += batch.size();
+        }
+    }
+
+    /**
+     * Inserts plain notifications and merges digest ones, coalescing digests within the
+     * list first. Does not commit.
+     */
+    static void write(Connection conn, List<Object[]> notifications) throws SQLException {
+        // Digest events per recipient and key, in arrival order: {last event, count}.
+        // Rows to insert are queue entries, with the merged count appended for started digests.
+        Map<String, Object[]> digests = new LinkedHashMap<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Object[] n : notifications) {
+            if (n[5] == null) {
+                inserts.add(n);
+            } else {
+                Object[] digest = digests.get(n[0] + "\n" + n[5]);
+                int count = digest == null ? 1 : (Integer) digest[1] + 1;
+                digests.put(n[0] + "\n" + n[5], new Object[]{n, count});
+            }
+        }
+
+        if (!digests.isEmpty()) {
+            List<Object[]> pending = new ArrayList<>(digests.values());
+            int[] merged;
+            try (PreparedStatement ps = conn.prepareStatement(MERGE_DIGEST_SQL)) {
+                for (Object[] digest : pending) {
+                    Object[] n = (Object[]) digest[0];
+                    int count = (Integer) digest[1];
+                    ps.setInt(1, count);
+                    ps.setString(2, (String) n[6]);
+                    ps.setInt(3, count);
+                    ps.setString(4, (String) n[4]);
+                    ps.setString(5, (String) n[0]);
+                    ps.setString(6, (String) n[5]);
+                    ps.addBatch();
+                }
+                merged = ps.executeBatch();
+            }
+            // No unread digest yet: start one
+            for (int i = 0; i < pending.size(); i++) {
+                if (merged[i] > 0) continue;
+                Object[] n = (Object[]) pending.get(i)[0];
+                int count = (Integer) pending.get(i)[1];
+                inserts.add(count == 1 ? n : new Object[]{n[0], n[1], n[2],
+                    ((String) n[6]).replace("{count}", String.valueOf(count)), n[4], n[5], n[6], count});
+            }
+        }
+
+        if (inserts.isEmpty()) return;
+        try (PreparedStatement ps = conn.prepareStatement(INSERT_SQL)) {
+            for (Object[] n : inserts) {
+                ps.setString(1, (String) n[0]);
+                if (n[1] == null) {
+                    ps.setNull(2, Types.INTEGER);
+                } else {
+                    ps.setInt(2, (Integer) n[1]);
+                }
+                ps.setString(3, (String) n[2]);
+                ps.setString(4, (String) n[3]);
+                ps.setString(5, (String) n[4]);
+                ps.setString(6, (String) n[5]);
+                ps.setInt(7, n.length > 7 ? (Integer) n[7] : 1);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /**
+     * Swaps in a fresh connection if the current one is dead (e.g. after a server failover).
+     */
+    private void replaceBrokenConnection() {
+        try {
+            if (connection.isValid(1)) return;
+        } catch (SQLException ignored) { }
+        try {
+            connection.close();
+        } catch (SQLException ignored) { }
+        try {
+            connection = connectionSource.connect();
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            System.err.println("Notification writer could not reconnect: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * PasswordHasher.java - Password Hashing Service
+ *
+ * PBKDF2 password hashing for the users table. The iteration count is
+ * calibrated once at startup so a single hash takes about the target latency
+ * (-Djoblisting.hash.targetMs, default 50), unless it is fixed with
+ * -Djoblisting.hash.iterations; clients sharing one database should use the
+ * same fixed value. Stored hashes are only upgraded when they are well below
+ * the current cost, so machines of different speed do not keep rehashing
+ * each other's users. All hashing runs on a small
+ * bounded executor, so a login storm queues up or is rejected instead of
+ * taking every core away from the UI.
+ *
+ * Stored format: pbkdf2$<iterations>$<salt base64>$<hash base64>
+ * Anything else is treated as a legacy plaintext password.
+ */
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2$";
+    private static final int SALT_BYTES = 16;
+    private static final int KEY_BITS = 256;
+    private static final int MIN_ITERATIONS = 10_000;
+    private static final int CALIBRATION_ITERATIONS = 20_000;
+    private static final long WAIT_TIMEOUT_MS = 10_000;
+
+    private static PasswordHasher instance;
+
+    private final int iterations;
+    private final ThreadPoolExecutor executor;
+    private final SecureRandom random = new SecureRandom();
+
+    private PasswordHasher(long targetMillis) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(threads * 32),
+            r -> {
+                Thread t = new Thread(r, "password-hasher-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        Integer configured = Integer.getInteger("joblisting.hash.iterations");
+        if (configured != null) {
+            iterations = Math.max(MIN_ITERATIONS, configured);
+            System.out.println("✓ Password hashing: " + iterations + " iterations (configured)");
+        } else {
+            iterations = calibrate(targetMillis);
+            System.out.println("✓ Password hashing calibrated: " + iterations + " iterations (~" + targetMillis + " ms)");
+        }
+    }
+
+    public static synchronized PasswordHasher getInstance() {
+        if (instance == null) {
+            instance = new PasswordHasher(Long.getLong("joblisting.hash.targetMs", 50L));
+        }
+        return instance;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Hashes a password with a fresh salt at the calibrated cost.
+     */
+    public String hash(String password) {
+        return await(() -> {
+            byte[] salt = new byte[SALT_BYTES];
+            random.nextBytes(salt);
+            byte[] hash = pbkdf2(password, salt, iterations);
+            return PREFIX + iterations + "$" + Base64.getEncoder().encodeToString(salt)
+                + "$" + Base64.getEncoder().encodeToString(hash);
+        });
+    }
+
+    /**
+     * Checks a password against a stored value. Legacy plaintext values are
+     * compared in constant time so they can be migrated on the next login.
+     */
+    public boolean verify(String password, String stored) {
+        if (password == null || stored == null) return false;
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+                                         stored.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        int storedIterations = storedIterations(parts);
+        if (storedIterations <= 0) return false;
+        byte[] salt;
+        byte[] expected;
+        try {
+            salt = Base64.getDecoder().decode(parts[2]);
+            expected = Base64.getDecoder().decode(parts[3]);
+        } catch (IllegalArgumentException e) {
+            return false; // corrupt stored value: no password matches it
+        }
+        return await(() -> MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations)));
+    }
+
+    public boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX);
+    }
+
+    /**
+     * True for plaintext values and hashes made with less than half the current cost.
+     * The margin absorbs calibration noise and differences between machines.
+     */
+    public boolean needsRehash(String stored) {
+        if (!isHashed(stored)) return true;
+        return storedIterations(stored.split("\\$")) < iterations / 2;
+    }
+
+    /**
+     * Iteration count of a split stored hash, or -1 if it is malformed.
+     */
+    private static int storedIterations(String[] parts) {
+        if (parts.length != 4) return -1;
+        try {
+            return Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private int calibrate(long targetMillis) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        // First run warms up the JIT; keep the fastest of the rest
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            pbkdf2("calibration", salt, CALIBRATION_ITERATIONS);
+            long elapsed = System.nanoTime() - start;
+            if (i > 0) best = Math.min(best, elapsed);
+        }
+        long scaled = CALIBRATION_ITERATIONS * (targetMillis * 1_000_000L) / Math.max(1, best);
+        return (int) Math.max(MIN_ITERATIONS, Math.min(scaled, 10_000_000L));
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("PBKDF2 not available: " + e.getMessage(), e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    private <T> T await(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new IllegalStateException("Too many logins in progress. Please try again.");
+        }
+        try {
+            return future.get(WAIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Password check interrupted.");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Password check timed out. Please try again.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new IllegalStateException(cause);
+        }
+    }
+}
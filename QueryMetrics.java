@@ -0,0 +1,444 @@
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.ObjectName;
+
+/**
+ * QueryMetrics.java - JDBC Instrumentation
+ *
+ * Wraps DatabaseManager connections in proxies that time every statement
+ * execution and count the rows it returns or changes, per SQL string.
+ * Statements slower than the threshold are logged; their bound parameters
+ * are masked to type and length by default, and statements touching a
+ * password column never show values. Metrics can be read through the joblisting:type=QueryMetrics
+ * MBean and are written to a report file when one is configured.
+ *
+ * -Djoblisting.metrics.enabled=false     turn instrumentation off
+ * -Djoblisting.metrics.slowMillis=100    slow-query threshold
+ * -Djoblisting.metrics.file=PATH         report file, rewritten every dumpSeconds and on close
+ * -Djoblisting.metrics.dumpSeconds=60
+ * -Djoblisting.metrics.logParams=masked  masked | full (values cut at 64 chars) | none
+ */
+public class QueryMetrics implements QueryMetricsMBean {
+
+    private static final String OBJECT_NAME = "joblisting:type=QueryMetrics";
+    private static final int MAX_PARAM_LENGTH = 64;
+    private static QueryMetrics instance;
+
+    private final boolean enabled;
+    private final String reportFile;
+    private final String logParams;
+    private volatile long slowThresholdNanos;
+    private volatile Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private volatile LatencyHistogram connectionWait = new LatencyHistogram();
+    private final AtomicLong slowQueries = new AtomicLong();
+    private ScheduledExecutorService dumper;
+
+    /** Totals for one SQL string. */
+    private static class Stats {
+        final String sql;
+        final String operation;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong slow = new AtomicLong();
+        final AtomicLong totalNanos = new AtomicLong();
+
+        Stats(String sql, String operation) {
+            this.sql = sql;
+            this.operation = operation;
+        }
+    }
+
+    private QueryMetrics() {
+        enabled = Boolean.parseBoolean(System.getProperty("joblisting.metrics.enabled", "true"));
+        reportFile = System.getProperty("joblisting.metrics.file");
+        logParams = System.getProperty("joblisting.metrics.logParams", "masked");
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("joblisting.metrics.slowMillis", 100L));
+        if (!enabled) return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (Exception e) {
+            System.err.println("Query metrics MBean not registered: " + e.getMessage());
+        }
+        if (reportFile != null) {
+            long seconds = Long.getLong("joblisting.metrics.dumpSeconds", 60L);
+            dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "query-metrics-dump");
+                t.setDaemon(true);
+                return t;
+            });
+            dumper.scheduleWithFixedDelay(this::dumpQuietly, seconds, seconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public static synchronized QueryMetrics getInstance() {
+        if (instance == null) {
+            instance = new QueryMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns an instrumented view of the connection (or the connection itself when disabled).
+     */
+    public Connection wrap(Connection connection) {
+        if (!enabled || connection == null) return connection;
+        return (Connection) Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(),
+            new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /**
+     * Records how long a caller waited to obtain a connection.
+     */
+    public void recordConnectionWait(long nanos) {
+        if (enabled) connectionWait.recordNanos(nanos);
+    }
+
+    /**
+     * Writes the final report if a report file is configured.
+     */
+    public void close() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+        }
+        dumpQuietly();
+    }
+
+    // ============== MBEAN ==============
+
+    @Override
+    public long getQueryCount() {
+        long total = 0;
+        for (Stats s : stats.values()) total += s.latency.getCount();
+        return total;
+    }
+
+    @Override
+    public long getErrorCount() {
+        long total = 0;
+        for (Stats s : stats.values()) total += s.errors.get();
+        return total;
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowQueries.get();
+    }
+
+    @Override
+    public long getSlowQueryThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    @Override
+    public void setSlowQueryThresholdMillis(long millis) {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    @Override
+    public double getConnectionWaitMeanMillis() {
+        return connectionWait.getMeanMicros() / 1000.0;
+    }
+
+    @Override
+    public double getConnectionWaitP99Millis() {
+        return connectionWait.percentileMicros(99) / 1000.0;
+    }
+
+    @Override
+    public String getReport() {
+        List<Stats> all = new ArrayList<>(stats.values());
+        all.sort(Comparator.comparingLong((Stats s) -> s.totalNanos.get()).reversed());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-40s %8s %6s %10s %9s %9s %9s %9s %9s %6s  %s%n",
+            "Operation", "Calls", "Errors", "Rows", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms", "Slow", "SQL"));
+        for (Stats s : all) {
+            LatencyHistogram h = s.latency;
+            sb.append(String.format("%-40s %8d %6d %10d %9.2f %9.2f %9.2f %9.2f %9.2f %6d  %s%n",
+                s.operation, h.getCount(), s.errors.get(), s.rows.get(),
+                h.getMeanMicros() / 1000.0, h.percentileMicros(50) / 1000.0, h.percentileMicros(95) / 1000.0,
+                h.percentileMicros(99) / 1000.0, h.getMaxMicros() / 1000.0, s.slow.get(), s.sql));
+        }
+        LatencyHistogram wait = connectionWait;
+        sb.append(String.format("%nConnection wait: %d acquisitions, mean %.2f ms, p99 %.2f ms, max %.2f ms%n",
+            wait.getCount(), wait.getMeanMicros() / 1000.0, wait.percentileMicros(99) / 1000.0,
+            wait.getMaxMicros() / 1000.0));
+        return sb.toString();
+    }
+
+    @Override
+    public void reset() {
+        stats = new ConcurrentHashMap<>();
+        connectionWait = new LatencyHistogram();
+        slowQueries.set(0);
+    }
+
+    @Override
+    public void dumpToFile(String path) throws IOException {
+        Path target = Paths.get(path).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.write(temp, getReport().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void dumpQuietly() {
+        if (reportFile == null) return;
+        try {
+            dumpToFile(reportFile);
+        } catch (IOException e) {
+            System.err.println("Error writing query metrics: " + e.getMessage());
+        }
+    }
+
+    // ============== RECORDING ==============
+
+    private Stats statsFor(String sql) {
+        Stats s = stats.get(sql);
+        if (s == null) {
+            // The caller is only looked up the first time a statement is seen
+            s = stats.computeIfAbsent(sql, key -> new Stats(key, findCaller()));
+        }
+        return s;
+    }
+
+    private void record(Stats s, long nanos, long rows, boolean failed, Object[] params) {
+        s.latency.recordNanos(nanos);
+        s.totalNanos.addAndGet(nanos);
+        if (rows > 0) s.rows.addAndGet(rows);
+        if (failed) s.errors.incrementAndGet();
+        if (nanos >= slowThresholdNanos) {
+            s.slow.incrementAndGet();
+            slowQueries.incrementAndGet();
+            System.out.println("⚠ Slow query (" + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms) in "
+                + s.operation + ": " + s.sql + describeParams(s.sql, params));
+        }
+    }
+
+    /**
+     * The bound parameters as the slow-query log shows them. Values can be password
+     * hashes, cover letters or contact details, so only "full" prints them at all.
+     */
+    private String describeParams(String sql, Object[] params) {
+        if (params == null || params.length == 0 || "none".equals(logParams)) return "";
+        boolean full = "full".equals(logParams) && !sql.toLowerCase().contains("password");
+        String[] shown = new String[params.length];
+        for (int i = 0; i < params.length; i++) {
+            Object value = params[i];
+            if (value == null) {
+                shown[i] = "null";
+            } else if (full) {
+                String text = value instanceof byte[] ? "byte[" + ((byte[]) value).length + "]" : value.toString();
+                shown[i] = text.length() > MAX_PARAM_LENGTH ? text.substring(0, MAX_PARAM_LENGTH) + "…" : text;
+            } else if (value instanceof CharSequence) {
+                shown[i] = "<" + value.getClass().getSimpleName() + " len=" + ((CharSequence) value).length() + ">";
+            } else if (value instanceof byte[]) {
+                shown[i] = "<byte[" + ((byte[]) value).length + "]>";
+            } else {
+                shown[i] = "<" + value.getClass().getSimpleName() + ">";
+            }
+        }
+        return " | params " + Arrays.toString(shown);
+    }
+
+    private static String findCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+            .filter(f -> !f.getClassName().startsWith("QueryMetrics")
+                && !f.getClassName().startsWith("java.")
+                && !f.getClassName().startsWith("jdk.")
+                && !f.getClassName().contains("$Proxy"))
+            .findFirst()
+            .map(f -> f.getClassName() + "." + f.getMethodName())
+            .orElse("unknown"));
+    }
+
+    private static String normalize(String sql) {
+        return sql.replaceAll("\\s+", " ").trim();
+    }
+
+    private static long updateCount(Object result) {
+        if (result instanceof Integer) return (Integer) result;
+        if (result instanceof Long) return (Long) result;
+        if (result instanceof int[]) {
+            long total = 0;
+            for (int n : (int[]) result) if (n > 0) total += n;
+            return total;
+        }
+        return 0;
+    }
+
+    private static Object invokeTarget(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isExecute(String name) {
+        return name.startsWith("execute");
+    }
+
+    // ============== PROXIES ==============
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("commit")) {
+                return timed(statsFor("COMMIT"), () -> invokeTarget(target, method, args), null);
+            }
+            Object result = invokeTarget(target, method, args);
+            if (name.equals("prepareStatement") && result instanceof PreparedStatement) {
+                return Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new StatementHandler((Statement) result, normalize((String) args[0])));
+            }
+            if (name.equals("createStatement") && result instanceof Statement) {
+                return Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(),
+                    new Class<?>[]{Statement.class}, new StatementHandler((Statement) result, null));
+            }
+            return result;
+        }
+    }
+
+    private interface Call {
+        Object run() throws Throwable;
+    }
+
+    private Object timed(Stats s, Call call, Object[] params) throws Throwable {
+        long start = System.nanoTime();
+        boolean failed = true;
+        Object result = null;
+        try {
+            result = call.run();
+            failed = false;
+            return result;
+        } finally {
+            record(s, System.nanoTime() - start, failed ? 0 : updateCount(result), failed, params);
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        // Bound parameters by index, for the slow-query log
+        private final Map<Integer, Object> params = new TreeMap<>();
+        private int batchSize = 0;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer) {
+                params.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            } else if (name.equals("clearBatch")) {
+                batchSize = 0;
+            }
+            if (!isExecute(name)) {
+                return invokeTarget(target, method, args);
+            }
+
+            String sql = preparedSql;
+            if (args != null && args.length > 0 && args[0] instanceof String) {
+                sql = normalize((String) args[0]);
+            }
+            if (sql == null) sql = "BATCH";
+            Stats s = statsFor(sql);
+            Object[] logged = name.equals("executeBatch")
+                ? new Object[]{"batch of " + batchSize}
+                : (params.isEmpty() ? null : params.values().toArray());
+            if (name.equals("executeBatch")) batchSize = 0;
+
+            if (name.equals("executeQuery")) {
+                long start = System.nanoTime();
+                ResultSet rs;
+                try {
+                    rs = (ResultSet) invokeTarget(target, method, args);
+                } catch (Throwable t) {
+                    record(s, System.nanoTime() - start, 0, true, logged);
+                    throw t;
+                }
+                record(s, System.nanoTime() - start, 0, false, logged);
+                return Proxy.newProxyInstance(QueryMetrics.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class}, new ResultSetHandler(rs, s));
+            }
+            return timed(s, () -> invokeTarget(target, method, args), logged);
+        }
+    }
+
+    private static class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final Stats stats;
+        private long rows = 0;
+        private boolean counted = false;
+
+        ResultSetHandler(ResultSet target, Stats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(target, method, args);
+            String name = method.getName();
+            if (name.equals("next")) {
+                if (Boolean.TRUE.equals(result)) {
+                    rows++;
+                } else {
+                    count();
+                }
+            } else if (name.equals("close")) {
+                count();
+            }
+            return result;
+        }
+
+        private void count() {
+            if (!counted) {
+                counted = true;
+                stats.rows.addAndGet(rows);
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+import java.io.IOException;
+
+/**
+ * QueryMetricsMBean.java - JMX View of Query Metrics
+ *
+ * Registered as joblisting:type=QueryMetrics (see QueryMetrics).
+ */
+public interface QueryMetricsMBean {
+
+    long getQueryCount();
+
+    long getErrorCount();
+
+    long getSlowQueryCount();
+
+    long getSlowQueryThresholdMillis();
+
+    void setSlowQueryThresholdMillis(long millis);
+
+    double getConnectionWaitMeanMillis();
+
+    double getConnectionWaitP99Millis();
+
+    /** Per-statement table: calls, errors, rows, latency percentiles, slow count. */
+    String getReport();
+
+    void reset();
+
+    void dumpToFile(String path) throws IOException;
+}
@@ -0,0 +1,22 @@
+import java.sql.SQLException;
+
+/**
+ * RateLimitExceededException.java - Throttled Write
+ *
+ * Thrown by DatabaseManager when a user exceeds a RateLimiter limit. It is
+ * an SQLException so existing callers report it like any other failed
+ * write; nothing was written.
+ */
+public class RateLimitExceededException extends SQLException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,128 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RateLimiter.java - Per-User Write Throttling
+ *
+ * Token buckets keyed by operation and username for the writes a user can
+ * repeat at will (contact messages, job applications), so a scripted or
+ * stuck client cannot flood those tables and the admin's notifications.
+ *
+ * Each bucket is a single AtomicLong (the time it will be full again,
+ * i.e. the generic cell rate algorithm), updated with compare-and-set, so
+ * checks never lock. Buckets that have refilled completely carry no state
+ * and are evicted by a sweep that runs at most once per sweep interval.
+ *
+ *   -Djoblisting.ratelimit.enabled=false
+ *   -Djoblisting.ratelimit.contact=5/600   at most 5 messages per 600 s (burst 5)
+ *   -Djoblisting.ratelimit.apply=20/3600   at most 20 applications per hour
+ */
+public final class RateLimiter {
+
+    /** Throttled operations with their default limits. */
+    public enum Operation {
+        CONTACT_MESSAGE("contact", "contact messages", 5, 600),
+        APPLICATION("apply", "job applications", 20, 3600);
+
+        final String property;
+        final String description;
+        final int permits;
+        final long intervalNanos;  // time to earn one permit
+        final long burstNanos;     // how far ahead of now a bucket may be booked
+
+        Operation(String property, String description, int defaultPermits, int defaultSeconds) {
+            this.property = property;
+            this.description = description;
+            String[] limit = System.getProperty("joblisting.ratelimit." + property,
+                defaultPermits + "/" + defaultSeconds).split("/");
+            this.permits = Math.max(1, Integer.parseInt(limit[0].trim()));
+            this.intervalNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(limit[1].trim())) / permits;
+            this.burstNanos = intervalNanos * permits;
+        }
+    }
+
+    private static final RateLimiter instance = new RateLimiter();
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled =
+        Boolean.parseBoolean(System.getProperty("joblisting.ratelimit.enabled", "true"));
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+    private final Map<Operation, AtomicLong> allowed = new ConcurrentHashMap<>();
+    private final Map<Operation, AtomicLong> rejected = new ConcurrentHashMap<>();
+
+    private RateLimiter() {
+        for (Operation op : Operation.values()) {
+            allowed.put(op, new AtomicLong());
+            rejected.put(op, new AtomicLong());
+        }
+    }
+
+    public static RateLimiter getInstance() {
+        return instance;
+    }
+
+    /**
+     * Takes one permit for the user, or throws if the user is over the limit.
+     */
+    public void acquire(Operation op, String username) throws RateLimitExceededException {
+        if (!enabled) return;
+        long now = System.nanoTime();
+        sweepIfDue(now);
+        AtomicLong bucket = buckets.computeIfAbsent(op.property + ':' + username, k -> new AtomicLong(now));
+        while (true) {
+            long fullAt = bucket.get();
+            long start = Math.max(fullAt, now);
+            long next = start + op.intervalNanos;
+            if (next - now > op.burstNanos) {
+                rejected.get(op).incrementAndGet();
+                long waitSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(next - now - op.burstNanos) + 1);
+                throw new RateLimitExceededException("Too many " + op.description +
+                    ". Please try again in " + formatWait(waitSeconds) + ".", waitSeconds);
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                allowed.get(op).incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled; they are equivalent to a new bucket. A permit
+     * taken concurrently with the removal may be forgotten, which only errs towards allowing.
+     */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if (now - due < 0 || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) return;
+        buckets.entrySet().removeIf(e -> e.getValue().get() - now <= 0);
+    }
+
+    private static String formatWait(long seconds) {
+        if (seconds < 60) return seconds + " seconds";
+        long minutes = (seconds + 59) / 60;
+        return minutes == 1 ? "1 minute" : minutes + " minutes";
+    }
+
+    public String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-20s %12s %10s %10s %10s%n", "Operation", "Limit", "Allowed", "Rejected", "Rejected %"));
+        for (Operation op : Operation.values()) {
+            long ok = allowed.get(op).get();
+            long denied = rejected.get(op).get();
+            sb.append(String.format("%-20s %12s %10d %10d %9.1f%%%n", op.property,
+                op.permits + "/" + TimeUnit.NANOSECONDS.toSeconds(op.burstNanos) + "s", ok, denied,
+                ok + denied == 0 ? 0.0 : 100.0 * denied / (ok + denied)));
+        }
+        sb.append(String.format("%nActive buckets: %d%s%n", buckets.size(), enabled ? "" : " (rate limiting disabled)"));
+        return sb.toString();
+    }
+
+    public void reset() {
+        for (Operation op : Operation.values()) {
+            allowed.get(op).set(0);
+            rejected.get(op).set(0);
+        }
+    }
+}
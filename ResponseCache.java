@@ -0,0 +1,98 @@
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * ResponseCache.java - Versioned Response Cache
+ *
+ * Keeps serialized response bodies (plain and gzipped) keyed by request,
+ * each tagged with the data version it was built from. An entry is only
+ * served while its version is still current, so a single version bump
+ * invalidates everything. Least recently used entries are evicted first.
+ */
+public class ResponseCache {
+
+    /** A ready-to-send response body. */
+    public static class Entry {
+        public final long version;
+        public final String etag;
+        public final byte[] body;
+        // Null when the body is too small to be worth compressing
+        public final byte[] gzipped;
+
+        Entry(long version, String etag, byte[] body, byte[] gzipped) {
+            this.version = version;
+            this.etag = etag;
+            this.body = body;
+            this.gzipped = gzipped;
+        }
+    }
+
+    private final int gzipMinBytes;
+    private final Map<String, Entry> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ResponseCache(int maxEntries, int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * The cached entry for the key if it was built from the given version, else null.
+     */
+    public Entry get(String key, long version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.version == version) {
+            hits.incrementAndGet();
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Stores a body built from the given version; compresses it once up front.
+     */
+    public Entry put(String key, long version, String etag, byte[] body) {
+        Entry entry = new Entry(version, etag, body, body.length >= gzipMinBytes ? gzip(body) : null);
+        synchronized (entries) {
+            Entry existing = entries.get(key);
+            // Never replace a newer entry built by a concurrent request
+            if (existing == null || existing.version <= version) {
+                entries.put(key, entry);
+            }
+        }
+        return entry;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
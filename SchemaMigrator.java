@@ -0,0 +1,451 @@
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * SchemaMigrator.java - Versioned Schema Migrations
+ *
+ * Brings the database schema up to date by applying numbered migrations in
+ * order and recording each one in the schema_version table. When the
+ * database is already at the latest version, startup costs one query and
+ * no DDL runs at all.
+ *
+ * To change the schema, append a migration with the next version number;
+ * never edit one that has shipped. Clients of a shared server take turns:
+ * each holds a lock on row 0 of schema_version (from a second connection)
+ * while it migrates, then re-reads the version. Each migration runs in one
+ * transaction with its version bump, but H2 commits on every DDL statement,
+ * so a migration that fails halfway must still be safe to re-run
+ * (IF NOT EXISTS, resumable steps like compressColumn).
+ *
+ *   -Djoblisting.db.migrationLockSeconds=300   how long to wait for another client's migration
+ */
+public final class SchemaMigrator {
+
+    /** One schema change. */
+    interface Step {
+        void apply(Connection conn, Statement stmt) throws SQLException;
+    }
+
+    private static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Baseline tables and indexes", SchemaMigrator::baseline),
+        new Migration(2, "Default admin user", SchemaMigrator::defaultAdmin),
+        new Migration(3, "Sample jobs", SchemaMigrator::sampleJobs),
+        new Migration(4, "Job id references in applications and notifications", SchemaMigrator::jobReferences),
+        new Migration(5, "Per-job applicant statistics", SchemaMigrator::jobStats),
+        new Migration(6, "Analytics rollups", SchemaMigrator::analyticsRollups),
+        new Migration(7, "One application per user and job", SchemaMigrator::applicationDedupe),
+        new Migration(8, "Admin notification digests", SchemaMigrator::notificationDigests),
+        new Migration(9, "Compressed cover letters and resume sections", SchemaMigrator::compressedText),
+        new Migration(10, "Shared data versions for response caches", SchemaMigrator::dataVersions)
+    );
+
+    public static final int LATEST_VERSION = MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+
+    private static final long LOCK_TIMEOUT_MILLIS =
+        Integer.getInteger("joblisting.db.migrationLockSeconds", 300) * 1000L;
+
+    private SchemaMigrator() { }
+
+    /**
+     * Applies all pending migrations on conn and returns how many were applied.
+     * When there are any, a new connection from lockSession (a session of its own;
+     * its lock timeout is changed) holds the migration lock meanwhile.
+     */
+    public static int migrate(Connection conn, ConnectionPool.ConnectionFactory lockSession) throws SQLException {
+        if (currentVersion(conn) >= LATEST_VERSION) return 0;
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                "version INT PRIMARY KEY, " +
+                "description VARCHAR(255), " +
+                "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            // Row 0 is the lock; MAX(version) never sees it. Inserted, not merged, so
+            // this does not wait on a client that already holds it.
+            try {
+                stmt.execute("INSERT INTO schema_version (version, description) " +
+                    "SELECT 0, 'Migration lock' WHERE NOT EXISTS (SELECT 1 FROM schema_version WHERE version = 0)");
+            } catch (SQLException e) {
+                if (!"23505".equals(e.getSQLState())) throw e; // another client inserted it first
+            }
+        }
+
+        try (Connection lockConn = lockSession.connect();
+             Statement lock = lockConn.createStatement()) {
+            lockConn.setAutoCommit(false);
+            lock.execute("SET LOCK_TIMEOUT " + LOCK_TIMEOUT_MILLIS);
+            lock.executeQuery("SELECT version FROM schema_version WHERE version = 0 FOR UPDATE").close();
+            try {
+                // Another client may have migrated while we waited
+                return applyPending(conn, currentVersion(conn));
+            } finally {
+                lockConn.rollback();
+            }
+        }
+    }
+
+    private static int applyPending(Connection conn, int current) throws SQLException {
+        int applied = 0;
+        try (Statement stmt = conn.createStatement()) {
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current) continue;
+                conn.setAutoCommit(false);
+                try {
+                    migration.step.apply(conn, stmt);
+                    try (PreparedStatement ps = conn.prepareStatement(
+                            "MERGE INTO schema_version (version, description) KEY (version) VALUES (?, ?)")) {
+                        ps.setInt(1, migration.version);
+                        ps.setString(2, migration.description);
+                        ps.executeUpdate();
+                    }
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+                System.out.println("✓ Schema migration " + migration.version + ": " + migration.description);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * The applied schema version; 0 for a new database or one created before migrations existed.
+     */
+    public static int currentVersion(Connection conn) {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            // No schema_version table yet
+            return 0;
+        }
+    }
+
+    // ============== MIGRATIONS ==============
+
+    /**
+     * The schema as it was before migrations; IF NOT EXISTS lets it adopt existing databases.
+     */
+    private static void baseline(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE IF NOT EXISTS users (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(255) UNIQUE NOT NULL, " +
+            "password VARCHAR(255) NOT NULL, " +
+            "email VARCHAR(255), " +
+            "role VARCHAR(50) NOT NULL DEFAULT 'Customer')");
+        // Very old databases lack the email column
+        stmt.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS email VARCHAR(255)");
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS jobs (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "title VARCHAR(255) NOT NULL, " +
+            "company VARCHAR(255), " +
+            "location VARCHAR(255), " +
+            "salary VARCHAR(100), " +
+            "description TEXT, " +
+            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS applications (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(255) NOT NULL, " +
+            "job_title VARCHAR(255) NOT NULL, " +
+            "company VARCHAR(255), " +
+            "applicant_name VARCHAR(255), " +
+            "email VARCHAR(255), " +
+            "phone VARCHAR(50), " +
+            "cover_letter TEXT, " +
+            "status VARCHAR(50) DEFAULT 'Pending', " +
+            "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS notifications (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(255) NOT NULL, " +
+            "job_title VARCHAR(255) NOT NULL, " +
+            "message TEXT, " +
+            "status VARCHAR(50), " +
+            "is_read INT DEFAULT 0, " +
+            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_user_read ON notifications (username, is_read)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_user_created ON notifications (username, created_at)");
+
+        // Archived notifications keep their original id (see NotificationArchiver)
+        stmt.execute("CREATE TABLE IF NOT EXISTS notifications_archive (" +
+            "id INT PRIMARY KEY, " +
+            "username VARCHAR(255) NOT NULL, " +
+            "job_title VARCHAR(255) NOT NULL, " +
+            "message TEXT, " +
+            "status VARCHAR(50), " +
+            "is_read INT DEFAULT 1, " +
+            "created_at TIMESTAMP, " +
+            "archived_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_archive_user ON notifications_archive (username, id)");
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS resumes (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(255) UNIQUE NOT NULL, " +
+            "full_name VARCHAR(255), " +
+            "email VARCHAR(255), " +
+            "phone VARCHAR(50), " +
+            "address TEXT, " +
+            "education TEXT, " +
+            "experience TEXT, " +
+            "skills TEXT, " +
+            "summary TEXT, " +
+            "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS contact_messages (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(255) NOT NULL, " +
+            "subject VARCHAR(255) NOT NULL, " +
+            "message TEXT NOT NULL, " +
+            "email VARCHAR(255), " +
+            "phone VARCHAR(50), " +
+            "status VARCHAR(50) DEFAULT 'New', " +
+            "is_read INT DEFAULT 0, " +
+            "admin_response TEXT, " +
+            "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+
+        // Tracks login/logout
+        stmt.execute("CREATE TABLE IF NOT EXISTS user_sessions (" +
+            "id INT AUTO_INCREMENT PRIMARY KEY, " +
+            "username VARCHAR(255) NOT NULL, " +
+            "login_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "logout_time TIMESTAMP, " +
+            "is_active INT DEFAULT 1)");
+        // Login closes the previous active session by username, keep that lookup indexed
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_sessions_user_active ON user_sessions (username, is_active)");
+    }
+
+    private static void defaultAdmin(Connection conn, Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users WHERE username = 'admin'")) {
+            if (rs.next() && rs.getInt(1) > 0) return;
+        }
+        // Password stored hashed
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO users (username, password, role) VALUES (?, ?, ?)")) {
+            ps.setString(1, "admin");
+            ps.setString(2, PasswordHasher.getInstance().hash("admin123"));
+            ps.setString(3, "Admin");
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Seeds a few jobs into a new database; an existing job list is left alone.
+     */
+    private static void sampleJobs(Connection conn, Statement stmt) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM jobs")) {
+            if (rs.next() && rs.getInt(1) > 0) return;
+        }
+        String[] sampleJobs = {
+            "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Software Engineer', 'Tech Corp', 'Manila', '80,000 PHP', 'Develop and maintain software applications')",
+            "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Data Analyst', 'Data Inc', 'Makati', '60,000 PHP', 'Analyze business data and create reports')",
+            "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Project Manager', 'Global Solutions', 'BGC', '100,000 PHP', 'Lead and manage project teams')",
+            "INSERT INTO jobs (title, company, location, salary, description) VALUES ('UI/UX Designer', 'Creative Agency', 'Cebu', '55,000 PHP', 'Design user interfaces and experiences')",
+            "INSERT INTO jobs (title, company, location, salary, description) VALUES ('Network Administrator', 'IT Services', 'Quezon City', '50,000 PHP', 'Manage and maintain network infrastructure')"
+        };
+        for (String sql : sampleJobs) {
+            stmt.executeUpdate(sql);
+        }
+    }
+
+    /**
+     * Adds job_id next to the copied title/company and backfills it. Applications
+     * match on title and company; notifications only store a title, so they are
+     * linked only where that title is unique. Unmatched rows keep a null job_id.
+     */
+    private static void jobReferences(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE applications ADD COLUMN IF NOT EXISTS job_id INT");
+        stmt.execute("ALTER TABLE notifications ADD COLUMN IF NOT EXISTS job_id INT");
+        stmt.execute("ALTER TABLE notifications_archive ADD COLUMN IF NOT EXISTS job_id INT");
+
+        // Only needed for the backfill lookups below
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_jobs_title_company ON jobs (title, company)");
+        stmt.execute("UPDATE applications a SET job_id = (" +
+            "SELECT MIN(j.id) FROM jobs j WHERE j.title = a.job_title AND j.company IS NOT DISTINCT FROM a.company) " +
+            "WHERE job_id IS NULL");
+        for (String table : new String[]{"notifications", "notifications_archive"}) {
+            stmt.execute("UPDATE " + table + " n SET job_id = (" +
+                "SELECT MIN(j.id) FROM jobs j WHERE j.title = n.job_title HAVING COUNT(*) = 1) " +
+                "WHERE job_id IS NULL");
+        }
+        stmt.execute("DROP INDEX IF EXISTS idx_jobs_title_company");
+
+        // Deleting a job keeps its history; the copied title still describes it
+        stmt.execute("ALTER TABLE applications ADD CONSTRAINT IF NOT EXISTS fk_applications_job " +
+            "FOREIGN KEY (job_id) REFERENCES jobs (id) ON DELETE SET NULL");
+        stmt.execute("ALTER TABLE notifications ADD CONSTRAINT IF NOT EXISTS fk_notifications_job " +
+            "FOREIGN KEY (job_id) REFERENCES jobs (id) ON DELETE SET NULL");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_applications_job ON applications (job_id)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_job ON notifications (job_id)");
+    }
+
+    /**
+     * Incrementally maintained counters (see JobStats), seeded from existing applications.
+     */
+    private static void jobStats(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE applications ADD COLUMN IF NOT EXISTS decided_at TIMESTAMP");
+        stmt.execute("CREATE TABLE IF NOT EXISTS job_stats (" +
+            "job_id INT PRIMARY KEY, " +
+            "total INT NOT NULL DEFAULT 0, " +
+            "pending INT NOT NULL DEFAULT 0, " +
+            "approved INT NOT NULL DEFAULT 0, " +
+            "rejected INT NOT NULL DEFAULT 0, " +
+            "decisions INT NOT NULL DEFAULT 0, " +
+            "decision_seconds BIGINT NOT NULL DEFAULT 0, " +
+            "last_applied_at TIMESTAMP, " +
+            "FOREIGN KEY (job_id) REFERENCES jobs (id) ON DELETE CASCADE)");
+        stmt.execute("CREATE TABLE IF NOT EXISTS job_stats_daily (" +
+            "job_id INT NOT NULL, " +
+            "stat_date DATE NOT NULL, " +
+            "applications INT NOT NULL DEFAULT 0, " +
+            "PRIMARY KEY (job_id, stat_date), " +
+            "FOREIGN KEY (job_id) REFERENCES jobs (id) ON DELETE CASCADE)");
+        JobStats.rebuildAll(stmt);
+    }
+
+    /**
+     * Rollup table plus the time-column indexes its compaction scans (see AnalyticsRollups),
+     * seeded from all existing rows. Existing users get no created_at; they predate tracking.
+     */
+    private static void analyticsRollups(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS created_at TIMESTAMP");
+        stmt.execute("ALTER TABLE users ALTER COLUMN created_at SET DEFAULT CURRENT_TIMESTAMP");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_created ON users (created_at)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_sessions_login ON user_sessions (login_time)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_applications_applied ON applications (applied_at)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_contact_messages_created ON contact_messages (created_at)");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_jobs_created ON jobs (created_at)");
+
+        stmt.execute("CREATE TABLE IF NOT EXISTS analytics_rollups (" +
+            "granularity CHAR(1) NOT NULL, " +
+            "metric VARCHAR(50) NOT NULL, " +
+            "bucket_start TIMESTAMP NOT NULL, " +
+            "dimension VARCHAR(255) NOT NULL DEFAULT '', " +
+            "total INT NOT NULL, " +
+            "computed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+            "PRIMARY KEY (granularity, metric, bucket_start, dimension))");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_analytics_rollups_bucket ON analytics_rollups (bucket_start)");
+        AnalyticsRollups.compact(conn, new Timestamp(0),
+            Integer.getInteger("joblisting.analytics.hourlyRetentionDays", 30));
+    }
+
+    /**
+     * Unique dedupe_key per (username, job_id), see DatabaseManager.applicationKey. Existing
+     * duplicates are kept; only the earliest application of each pair gets the key.
+     */
+    private static void applicationDedupe(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE applications ADD COLUMN IF NOT EXISTS dedupe_key VARCHAR(64)");
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT MIN(id), username, job_id FROM applications " +
+                "WHERE job_id IS NOT NULL AND dedupe_key IS NULL GROUP BY username, job_id");
+             PreparedStatement ps = conn.prepareStatement("UPDATE applications SET dedupe_key = ? WHERE id = ?")) {
+            while (rs.next()) {
+                ps.setString(1, DatabaseManager.applicationKey(rs.getString(2), rs.getInt(3)));
+                ps.setInt(2, rs.getInt(1));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+        stmt.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_applications_dedupe ON applications (dedupe_key)");
+    }
+
+    /**
+     * Digest notifications (see NotificationWriter) merge repeated events into one row.
+     */
+    private static void notificationDigests(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("ALTER TABLE notifications ADD COLUMN IF NOT EXISTS digest_key VARCHAR(255)");
+        stmt.execute("ALTER TABLE notifications ADD COLUMN IF NOT EXISTS event_count INT NOT NULL DEFAULT 1");
+        stmt.execute("CREATE INDEX IF NOT EXISTS idx_notifications_digest ON notifications (username, digest_key)");
+    }
+
+    /**
+     * Turns the large free-text columns into BLOBs in CompressedText encoding.
+     */
+    private static void compressedText(Connection conn, Statement stmt) throws SQLException {
+        compressColumn(conn, stmt, "applications", "cover_letter");
+        for (String column : new String[]{"education", "experience", "skills", "summary"}) {
+            compressColumn(conn, stmt, "resumes", column);
+        }
+    }
+
+    /**
+     * Copies a text column into a new BLOB column, encoded, then replaces the old column
+     * with it. Resumes an earlier attempt: the copy is redone while the text column is
+     * still there, and a <column>_z left behind by a failure between the drop and the
+     * rename is renamed. A column that is already a BLOB is left alone.
+     */
+    private static void compressColumn(Connection conn, Statement stmt, String table, String column) throws SQLException {
+        String encoded = column + "_z";
+        String type = columnType(conn, table, column);
+        if (type == null && columnType(conn, table, encoded) != null) {
+            stmt.execute("ALTER TABLE " + table + " ALTER COLUMN " + encoded + " RENAME TO " + column);
+            return;
+        }
+        if (type == null || !type.startsWith("CHARACTER")) return;
+        stmt.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + encoded + " BLOB");
+        try (Statement select = conn.createStatement();
+             ResultSet rs = select.executeQuery("SELECT id, " + column + " FROM " + table + " WHERE " + column + " IS NOT NULL");
+             PreparedStatement update = conn.prepareStatement(
+                 "UPDATE " + table + " SET " + encoded + " = ? WHERE id = ?")) {
+            int pending = 0;
+            while (rs.next()) {
+                update.setBytes(1, CompressedText.encode(rs.getString(2)));
+                update.setInt(2, rs.getInt(1));
+                update.addBatch();
+                if (++pending == 500) {
+                    update.executeBatch();
+                    pending = 0;
+                }
+            }
+            update.executeBatch();
+        }
+        stmt.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+        stmt.execute("ALTER TABLE " + table + " ALTER COLUMN " + encoded + " RENAME TO " + column);
+    }
+
+    /**
+     * The column's data type, or null if the table has no such column.
+     */
+    private static String columnType(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT DATA_TYPE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = ? AND COLUMN_NAME = ?")) {
+            ps.setString(1, table.toUpperCase());
+            ps.setString(2, column.toUpperCase());
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * One counter per cached dataset, bumped in the same transaction as each write to it,
+     * so every process sharing the database sees the same version (see getJobsVersion).
+     */
+    private static void dataVersions(Connection conn, Statement stmt) throws SQLException {
+        stmt.execute("CREATE TABLE IF NOT EXISTS data_versions (" +
+            "name VARCHAR(50) PRIMARY KEY, " +
+            "version BIGINT NOT NULL)");
+        stmt.execute("MERGE INTO data_versions (name, version) KEY (name) VALUES ('jobs', 1)");
+    }
+}
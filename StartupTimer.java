@@ -0,0 +1,65 @@
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * StartupTimer.java - Startup Timing Breakdown
+ *
+ * Records when each startup phase began and ended, measured from launch,
+ * and prints them once as a breakdown. Phases may overlap: the database
+ * connects while the UI is being built.
+ *
+ *   -Djoblisting.startup.report=false   do not print the breakdown
+ */
+public final class StartupTimer {
+
+    private static final boolean ENABLED =
+        Boolean.parseBoolean(System.getProperty("joblisting.startup.report", "true"));
+
+    // Loaded from the first line of main, so this is the launch time
+    private static final long ORIGIN = System.nanoTime();
+    private static final List<String> phases = new ArrayList<>();
+    private static final AtomicBoolean reported = new AtomicBoolean(false);
+
+    private StartupTimer() { }
+
+    /**
+     * Start time for a phase; pass it to record() when the phase ends.
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    public static void record(String phase, long startNanos) {
+        long end = System.nanoTime();
+        String line = String.format("  %-28s %6d - %6d ms  (%d ms, %s)", phase,
+            millis(startNanos - ORIGIN), millis(end - ORIGIN), millis(end - startNanos),
+            Thread.currentThread().getName());
+        synchronized (phases) {
+            phases.add(line);
+        }
+    }
+
+    /**
+     * Prints the breakdown; only the first call prints.
+     */
+    public static void report() {
+        if (!ENABLED || reported.getAndSet(true)) return;
+        StringBuilder sb = new StringBuilder("✓ Startup breakdown (ms since launch):\n");
+        ProcessHandle.current().info().startInstant().ifPresent(jvmStart -> sb.append(String.format(
+            "  %-28s %6d ms before main%n", "JVM startup",
+            Duration.between(jvmStart, Instant.now()).toMillis() - millis(System.nanoTime() - ORIGIN))));
+        synchronized (phases) {
+            for (String line : phases) {
+                sb.append(line).append('\n');
+            }
+        }
+        System.out.print(sb);
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+}
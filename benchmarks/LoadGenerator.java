@@ -0,0 +1,344 @@
+import java.io.File;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * LoadGenerator.java - Synthetic Portal Load
+ *
+ * Headless load generator. Simulates many concurrent virtual users against
+ * the portal through a Portal interface. DirectPortal calls DatabaseManager
+ * in-process; a service client can be plugged in the same way.
+ *
+ * Each virtual user repeatedly picks an operation from the mix, runs it and
+ * waits a random think time. On Java 21+ every virtual user is a virtual
+ * thread; on older JVMs they share a capped platform thread pool.
+ * The virtual users vuser0..N are seeded as real accounts (every other one
+ * with a resume) so "profile" exercises the per-user reads. The first error
+ * of each operation is printed when it happens; at the end it prints
+ * per-operation throughput, error rate and latency percentiles.
+ *
+ * Compile: javac -cp ".;h2-2.2.224.jar" *.java benchmarks/*.java
+ * Run: java -cp ".;h2-2.2.224.jar" LoadGenerator [key=value ...]
+ *   users=10000        virtual users
+ *   seconds=60         test duration
+ *   think=1000         mean think time between operations (ms)
+ *   jobs=500           jobs seeded before the run
+ *   mix=browse:40,search:20,apply:10,notifications:20,contact:5,approve:5,profile:10
+ *
+ * For an A/B comparison of the read caches, run once more with
+ * -Djoblisting.cache.enabled=false; the cache hit rates are printed at the end.
+ */
+public class LoadGenerator {
+
+    private static final String BENCH_DIR = "./bench";
+    private static final int MAX_PLATFORM_THREADS = 1000;
+    private static final List<String> OPERATIONS =
+        List.of("browse", "search", "apply", "notifications", "contact", "approve", "profile");
+    private static final String[] KEYWORDS = {"developer", "manager", "analyst", "designer", "engineer", "remote"};
+
+    /**
+     * Operations a virtual user can perform. Implementations must be thread-safe.
+     */
+    public interface Portal {
+        List<String[]> browseJobs() throws Exception;
+        List<String[]> searchJobs(String keyword) throws Exception;
+        void apply(String username, int jobId) throws Exception;
+        void pollNotifications(String username) throws Exception;
+        void sendContactMessage(String username) throws Exception;
+        void approveNextApplication() throws Exception;
+        void viewProfile(String username) throws Exception;
+    }
+
+    /**
+     * Portal backed by DatabaseManager in the same JVM.
+     */
+    static class DirectPortal implements Portal {
+        private final DatabaseManager db;
+
+        DirectPortal(DatabaseManager db) {
+            this.db = db;
+        }
+
+        public List<String[]> browseJobs() throws SQLException {
+            return db.getAllJobs();
+        }
+
+        public List<String[]> searchJobs(String keyword) throws SQLException {
+            // Same case-insensitive title/company/location match the job list screen applies
+            List<String[]> matches = new ArrayList<>();
+            for (String[] job : db.getAllJobs()) {
+                for (int i = 1; i <= 3; i++) {
+                    if (job[i] != null && job[i].toLowerCase(Locale.ROOT).contains(keyword)) {
+                        matches.add(job);
+                        break;
+                    }
+                }
+            }
+            return matches;
+        }
+
+        public void apply(String username, int jobId) throws SQLException {
+            db.addApplication(username, jobId, "Load User " + username,
+                username + "@example.com", "555-0100", "Generated by LoadGenerator.");
+        }
+
+        public void pollNotifications(String username) throws SQLException {
+            if (db.getUnreadNotificationCount(username) > 0) {
+                db.getAllNotifications(username);
+                db.markAllNotificationsAsRead(username);
+            }
+        }
+
+        public void sendContactMessage(String username) throws SQLException {
+            db.addContactMessage(username, "Load test", "Generated by LoadGenerator.",
+                username + "@example.com", "555-0100");
+        }
+
+        public void approveNextApplication() throws SQLException {
+            if (db.getPendingApplicationCount() == 0) return;
+            for (Object[] app : db.getAllApplications()) {
+                if ("Pending".equals(app[8])) {
+                    db.updateApplicationStatus((Integer) app[0], "Approved");
+                    return;
+                }
+            }
+        }
+
+        public void viewProfile(String username) throws SQLException {
+            // The "my account" reads: resume, own applications and contact messages
+            if (db.userExists(username)) {
+                db.getResume(username);
+                db.getUserApplications(username);
+                db.getUserContactMessages(username);
+            }
+        }
+    }
+
+    private static class OperationStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicReference<Exception> firstError = new AtomicReference<>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "10000"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "60"));
+        long thinkMillis = Long.parseLong(options.getOrDefault("think", "1000"));
+        int jobCount = Integer.parseInt(options.getOrDefault("jobs", "500"));
+        Map<String, Integer> mix = parseMix(options.getOrDefault("mix",
+            "browse:40,search:20,apply:10,notifications:20,contact:5,approve:5,profile:10"));
+
+        new File(BENCH_DIR).mkdirs();
+        new File(BENCH_DIR, "load.mv.db").delete();
+        System.setProperty("joblisting.db.url", "jdbc:h2:" + BENCH_DIR + "/load");
+        // Simulated users write far more often than real ones; measure the database, not the limiter
+        if (System.getProperty("joblisting.ratelimit.enabled") == null) {
+            System.setProperty("joblisting.ratelimit.enabled", "false");
+        }
+        DatabaseManager db = DatabaseManager.getInstance();
+        if (!db.isConnected()) {
+            System.err.println("Could not open load test database.");
+            return;
+        }
+        System.out.println("Seeding " + jobCount + " jobs...");
+        for (int i = 0; i < jobCount; i++) {
+            db.addJob(KEYWORDS[i % KEYWORDS.length] + " " + i, "Company " + (i % 50),
+                "City " + (i % 20), "50000", "Seeded by LoadGenerator.");
+        }
+        List<String[]> jobs = db.getAllJobs();
+        System.out.println("Seeding " + users + " users...");
+        seedUsers(db, users);
+
+        Portal portal = new DirectPortal(db);
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        for (String op : mix.keySet()) {
+            stats.put(op, new OperationStats());
+        }
+        String[] weighted = weightedOperations(mix);
+
+        ExecutorService executor = newUserExecutor(users);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        System.out.println("Running " + users + " virtual users for " + seconds + " s...");
+        for (int u = 0; u < users; u++) {
+            String username = "vuser" + u;
+            executor.execute(() -> runUser(portal, username, jobs, weighted, stats, thinkMillis, deadline));
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        report(stats, seconds);
+        System.out.println();
+        System.out.print(CacheRegion.getReport());
+        db.close();
+    }
+
+    private static void runUser(Portal portal, String username, List<String[]> jobs, String[] weighted,
+                                Map<String, OperationStats> stats, long thinkMillis, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Spread the first requests out instead of starting every user at once
+        if (!sleep(random.nextLong(thinkMillis + 1))) return;
+        while (System.nanoTime() < deadline) {
+            String op = weighted[random.nextInt(weighted.length)];
+            OperationStats opStats = stats.get(op);
+            long begin = System.nanoTime();
+            try {
+                switch (op) {
+                    case "browse":
+                        portal.browseJobs();
+                        break;
+                    case "search":
+                        portal.searchJobs(KEYWORDS[random.nextInt(KEYWORDS.length)]);
+                        break;
+                    case "apply":
+                        String[] job = jobs.get(random.nextInt(jobs.size()));
+                        portal.apply(username, Integer.parseInt(job[0]));
+                        break;
+                    case "notifications":
+                        portal.pollNotifications(username);
+                        break;
+                    case "contact":
+                        portal.sendContactMessage(username);
+                        break;
+                    case "approve":
+                        portal.approveNextApplication();
+                        break;
+                    case "profile":
+                        portal.viewProfile(username);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown operation: " + op);
+                }
+            } catch (Exception e) {
+                opStats.errors.incrementAndGet();
+                if (opStats.firstError.compareAndSet(null, e)) {
+                    System.err.println("⚠ First " + op + " error: " + e);
+                }
+            }
+            opStats.latency.recordNanos(System.nanoTime() - begin);
+            // Exponential think time with the configured mean
+            long think = (long) (-Math.log(1 - random.nextDouble()) * thinkMillis);
+            if (!sleep(think)) return;
+        }
+    }
+
+    /**
+     * Inserts the virtual users in batches, all with one password hash (hashing each
+     * would take longer than the run), and gives every other user a resume.
+     */
+    private static void seedUsers(DatabaseManager db, int users) throws SQLException {
+        String passwordHash = PasswordHasher.getInstance().hash("loadtest");
+        try (Connection conn = db.openConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "INSERT INTO users (username, password, email, role) VALUES (?, ?, ?, 'Customer')")) {
+            for (int u = 0; u < users; u++) {
+                ps.setString(1, "vuser" + u);
+                ps.setString(2, passwordHash);
+                ps.setString(3, "vuser" + u + "@example.com");
+                ps.addBatch();
+                if (u % 1000 == 999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        for (int u = 0; u < users; u += 2) {
+            String username = "vuser" + u;
+            db.saveOrUpdateResume(username, "Load User " + u, username + "@example.com", "555-0100",
+                "City " + (u % 20), "BSc Computer Science", "Five years of " + KEYWORDS[u % KEYWORDS.length] + " work.",
+                "Java, SQL, Swing", "Seeded by LoadGenerator.");
+        }
+    }
+
+    /**
+     * One virtual thread per user when the JVM has them (Java 21+), otherwise
+     * a bounded platform pool, which caps the number of truly concurrent users.
+     */
+    private static ExecutorService newUserExecutor(int users) {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            System.out.println("✓ Using virtual threads");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            int threads = Math.min(users, MAX_PLATFORM_THREADS);
+            System.out.println("Virtual threads not available; running users on " + threads + " platform threads");
+            return Executors.newFixedThreadPool(threads);
+        }
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static void report(Map<String, OperationStats> stats, int seconds) {
+        System.out.println("------------------------------------------------------------------------------------");
+        System.out.printf("%-14s %9s %8s %7s %9s %9s %9s %9s %9s%n",
+            "Operation", "Count", "Ops/s", "Errors", "Mean ms", "p50 ms", "p95 ms", "p99 ms", "Max ms");
+        for (Map.Entry<String, OperationStats> entry : stats.entrySet()) {
+            LatencyHistogram h = entry.getValue().latency;
+            long count = h.getCount();
+            long errors = entry.getValue().errors.get();
+            System.out.printf("%-14s %9d %8.1f %6.2f%% %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                entry.getKey(), count, count / (double) seconds,
+                count == 0 ? 0.0 : 100.0 * errors / count,
+                h.getMeanMicros() / 1000.0, h.percentileMicros(50) / 1000.0,
+                h.percentileMicros(95) / 1000.0, h.percentileMicros(99) / 1000.0,
+                h.getMaxMicros() / 1000.0);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String spec) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2 || !OPERATIONS.contains(kv[0].trim())) {
+                throw new IllegalArgumentException("Bad mix entry '" + part + "', operations are " + OPERATIONS);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) mix.put(kv[0].trim(), weight);
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Operation mix is empty: " + spec);
+        }
+        return mix;
+    }
+
+    private static String[] weightedOperations(Map<String, Integer> mix) {
+        List<String> ops = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                ops.add(entry.getKey());
+            }
+        }
+        return ops.toArray(new String[0]);
+    }
+}
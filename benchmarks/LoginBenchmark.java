@@ -0,0 +1,104 @@
+import java.io.File;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LoginBenchmark.java - Login Throughput Benchmark
+ *
+ * Simulates a login storm: thousands of concurrent logins against a local
+ * H2 file database through DatabaseManager.login().
+ *
+ * Compile: javac -cp ".;h2-2.2.224.jar" *.java benchmarks/*.java
+ * Run: java -cp ".;h2-2.2.224.jar" LoginBenchmark [users] [logins] [threads]
+ */
+public class LoginBenchmark {
+
+    private static final String BENCH_DIR = "./bench";
+
+    public static void main(String[] args) throws Exception {
+        int users = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int logins = args.length > 1 ? Integer.parseInt(args[1]) : 5000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+
+        // Fresh file database so runs are comparable
+        new File(BENCH_DIR).mkdirs();
+        new File(BENCH_DIR, "login_bench.mv.db").delete();
+        System.setProperty("joblisting.db.url", "jdbc:h2:" + BENCH_DIR + "/login_bench");
+
+        DatabaseManager db = DatabaseManager.getInstance();
+        if (!db.isConnected()) {
+            System.err.println("Could not open benchmark database.");
+            return;
+        }
+
+        System.out.println("Seeding " + users + " users...");
+        for (int i = 0; i < users; i++) {
+            db.addUser("user" + i, "pass" + i, "user" + i + "@example.com", "Customer");
+        }
+
+        // Warm up statement cache and JIT
+        for (int i = 0; i < Math.min(users, 500); i++) {
+            db.login("user" + i, "pass" + i);
+        }
+
+        System.out.println("Running " + logins + " logins on " + threads + " threads...");
+        long[] latencies = new long[logins];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    int i;
+                    while ((i = next.getAndIncrement()) < logins) {
+                        int u = i % users;
+                        long begin = System.nanoTime();
+                        try {
+                            if (db.login("user" + u, "pass" + u) == null) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (SQLException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        Arrays.sort(latencies);
+        System.out.println("----------------------------------------");
+        System.out.printf("Logins:      %d (%d failed)%n", logins, failures.get());
+        System.out.printf("Elapsed:     %.1f ms%n", elapsed / 1e6);
+        System.out.printf("Throughput:  %.0f logins/s%n", logins / (elapsed / 1e9));
+        System.out.printf("Latency p50: %.2f ms%n", percentile(latencies, 0.50) / 1e6);
+        System.out.printf("Latency p99: %.2f ms%n", percentile(latencies, 0.99) / 1e6);
+        System.out.printf("Latency max: %.2f ms%n", latencies[latencies.length - 1] / 1e6);
+        db.close();
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,89 @@
+import java.io.File;
+import java.sql.SQLException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PasswordHashBenchmark.java - Hashed Login Throughput Benchmark
+ *
+ * Measures how many password verifications and full logins per second the
+ * calibrated PasswordHasher allows, overall and per hashing core.
+ * Use -Djoblisting.hash.targetMs=N to try other cost settings.
+ *
+ * Compile: javac -cp ".;h2-2.2.224.jar" *.java benchmarks/*.java
+ * Run: java -cp ".;h2-2.2.224.jar" PasswordHashBenchmark [seconds] [clients]
+ */
+public class PasswordHashBenchmark {
+
+    private static final String BENCH_DIR = "./bench";
+    private static final int USERS = 200;
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+
+        PasswordHasher hasher = PasswordHasher.getInstance();
+        int hashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        String stored = hasher.hash("benchmark-password");
+
+        System.out.println("Iterations: " + hasher.getIterations() + ", hashing threads: " + hashThreads);
+
+        long verifications = run(seconds, clients, () -> hasher.verify("benchmark-password", stored));
+        report("Verify only", verifications, seconds, hashThreads);
+
+        new File(BENCH_DIR).mkdirs();
+        new File(BENCH_DIR, "hash_bench.mv.db").delete();
+        System.setProperty("joblisting.db.url", "jdbc:h2:" + BENCH_DIR + "/hash_bench");
+        DatabaseManager db = DatabaseManager.getInstance();
+        for (int i = 0; i < USERS; i++) {
+            db.addUser("user" + i, "pass" + i, null, "Customer");
+        }
+
+        AtomicLong counter = new AtomicLong();
+        long logins = run(seconds, clients, () -> {
+            int u = (int) (counter.getAndIncrement() % USERS);
+            return db.login("user" + u, "pass" + u) != null;
+        });
+        report("Full login", logins, seconds, hashThreads);
+        db.close();
+    }
+
+    private interface Operation {
+        boolean run() throws SQLException;
+    }
+
+    private static long run(int seconds, int clients, Operation op) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong completed = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        for (int i = 0; i < clients; i++) {
+            pool.execute(() -> {
+                while (running.get()) {
+                    try {
+                        if (op.run()) completed.incrementAndGet();
+                    } catch (SQLException | IllegalStateException e) {
+                        // Hasher queue full: the bounded executor pushing back
+                        rejected.incrementAndGet();
+                    }
+                }
+            });
+        }
+        Thread.sleep(seconds * 1000L);
+        running.set(false);
+        pool.shutdown();
+        pool.awaitTermination(30, TimeUnit.SECONDS);
+        if (rejected.get() > 0) {
+            System.out.println("  (" + rejected.get() + " calls rejected by the hashing executor)");
+        }
+        return completed.get();
+    }
+
+    private static void report(String label, long count, int seconds, int cores) {
+        double perSecond = count / (double) seconds;
+        System.out.printf("%-12s %8.1f /s total, %6.1f /s per core%n", label + ":", perSecond, perSecond / cores);
+    }
+}
@@ -0,0 +1,234 @@
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.swing.JLabel;
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.DefaultTableModel;
+
+/**
+ * TableScrollBenchmark.java - User Table Scrolling Benchmark
+ *
+ * Headless: paints the user management table into an off-screen image the
+ * way a scroll would, one viewport per frame, and reports frames per
+ * second, frame time percentiles and bytes allocated per frame. A second
+ * pass only prepares the renderers of the visible cells, which isolates
+ * the per-cell cost from text drawing. Compares the dialog's FastTable
+ * against a plain JTable with the per-paint renderers the dialog used
+ * before, over the same synthetic users.
+ *
+ * For clean allocation numbers run each table in its own JVM (table=jtable,
+ * then table=fast): sharing one JVM makes the renderer call sites
+ * megamorphic, which costs the second table its escape analysis.
+ *
+ * Compile: javac -cp ".;h2-2.2.224.jar" *.java benchmarks/*.java
+ * Run: java -Djava.awt.headless=true -cp ".;h2-2.2.224.jar" TableScrollBenchmark [rows] [frames] [rowsPerFrame] [table]
+ *   table=both | jtable | fast
+ */
+public class TableScrollBenchmark {
+
+    private static final String[] COLUMNS = {"ID", "Username", "Role", "Status", "Last Login", "Last Logout"};
+    private static final int WIDTH = 900;
+    private static final int VIEWPORT_HEIGHT = 420;
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 3000;
+        int rowsPerFrame = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        String tables = args.length > 3 ? args[3].replace("table=", "") : "both";
+
+        List<Object[]> users = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean online = i % 7 == 0;
+            users.add(new Object[]{
+                i + 1,
+                "user" + i,
+                i % 50 == 0 ? "Admin" : "Customer",
+                online ? "Online" : "Offline",
+                i % 5 == 0 ? "Never" : "2024-05-" + (10 + i % 20) + " 09:" + (10 + i % 50) + ":00",
+                online || i % 5 == 0 ? "N/A" : "2024-05-" + (10 + i % 20) + " 17:" + (10 + i % 50) + ":00"
+            });
+        }
+
+        System.out.println("Rows: " + rows + ", frames: " + frames + ", rows per frame: " + rowsPerFrame);
+        if (!"fast".equals(tables)) {
+            run("JTable (per-paint renderers)", () -> createLegacyTable(users), rows, frames, rowsPerFrame);
+        }
+        if (!"jtable".equals(tables)) {
+            run("FastTable", () -> {
+                FastTable table = DialogManager.createUserTable();
+                table.setRows(users);
+                return table;
+            }, rows, frames, rowsPerFrame);
+        }
+    }
+
+    private interface TableFactory {
+        JTable create();
+    }
+
+    private static void run(String name, TableFactory factory, int rows, int frames, int rowsPerFrame)
+            throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            long start = System.nanoTime();
+            JTable table = factory.create();
+            long loadNanos = System.nanoTime() - start;
+            int rowHeight = table.getRowHeight();
+            table.setSize(WIDTH, rows * rowHeight);
+            table.doLayout();
+
+            BufferedImage image = new BufferedImage(WIDTH, VIEWPORT_HEIGHT, BufferedImage.TYPE_INT_RGB);
+            int maxY = Math.max(0, rows * rowHeight - VIEWPORT_HEIGHT);
+
+            // Warm up the JIT on a separate pass over the same frames
+            paintFrames(table, image, frames, rowsPerFrame * rowHeight, maxY, null);
+
+            long[] frameNanos = new long[frames];
+            long allocatedBefore = allocatedBytes();
+            long scrollStart = System.nanoTime();
+            paintFrames(table, image, frames, rowsPerFrame * rowHeight, maxY, frameNanos);
+            long scrollNanos = System.nanoTime() - scrollStart;
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            int visibleRows = VIEWPORT_HEIGHT / rowHeight + 1;
+            prepareFrames(table, frames, visibleRows, rowsPerFrame, rows);
+            long renderAllocatedBefore = allocatedBytes();
+            long renderStart = System.nanoTime();
+            prepareFrames(table, frames, visibleRows, rowsPerFrame, rows);
+            long renderNanos = System.nanoTime() - renderStart;
+            long renderAllocated = allocatedBytes() - renderAllocatedBefore;
+
+            Arrays.sort(frameNanos);
+            System.out.println();
+            System.out.println(name);
+            System.out.printf("  load rows:  %8.1f ms%n", loadNanos / 1e6);
+            System.out.printf("  scroll:     %8.0f frames/s%n", frames * 1e9 / scrollNanos);
+            System.out.printf("  frame p50:  %8.3f ms   p99: %.3f ms   max: %.3f ms%n",
+                frameNanos[frames / 2] / 1e6, frameNanos[(int) (frames * 0.99)] / 1e6, frameNanos[frames - 1] / 1e6);
+            System.out.println("  allocated:  " + (allocated < 0 ? "n/a" : (allocated / frames) + " bytes/frame"));
+            System.out.printf("  renderers:  %8.3f ms/frame, %s%n", renderNanos / 1e6 / frames,
+                renderAllocated < 0 ? "n/a" : (renderAllocated / frames) + " bytes/frame");
+        });
+    }
+
+    /**
+     * Scrolls down by step pixels per frame (wrapping at the end), painting the visible rows each time.
+     */
+    private static void paintFrames(JTable table, BufferedImage image, int frames, int step, int maxY,
+            long[] frameNanos) {
+        int y = 0;
+        for (int f = 0; f < frames; f++) {
+            long start = System.nanoTime();
+            Graphics2D g = image.createGraphics();
+            g.translate(0, -y);
+            g.setClip(0, y, WIDTH, VIEWPORT_HEIGHT);
+            table.paint(g);
+            g.dispose();
+            if (frameNanos != null) frameNanos[f] = System.nanoTime() - start;
+            y = y + step > maxY ? 0 : y + step;
+        }
+    }
+
+    /**
+     * What painting does per cell apart from drawing: get and prepare the renderer.
+     */
+    private static void prepareFrames(JTable table, int frames, int visibleRows, int rowsPerFrame, int rows) {
+        int first = 0;
+        int columns = table.getColumnCount();
+        for (int f = 0; f < frames; f++) {
+            for (int row = first; row < Math.min(rows, first + visibleRows); row++) {
+                for (int column = 0; column < columns; column++) {
+                    table.prepareRenderer(table.getCellRenderer(row, column), row, column);
+                }
+            }
+            first = first + rowsPerFrame + visibleRows > rows ? 0 : first + rowsPerFrame;
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * The user table as the dialog built it before FastTable: renderers that recompute
+     * text and colors on every paint, and rows added one by one to the table's model.
+     */
+    private static JTable createLegacyTable(List<Object[]> users) {
+        DefaultTableModel tableModel = new DefaultTableModel(COLUMNS, 0) {
+            public boolean isCellEditable(int row, int column) { return false; }
+        };
+        JTable table = new JTable(tableModel);
+        table.setFont(AppTheme.FONT_TABLE);
+        table.setRowHeight(35);
+        table.getColumnModel().getColumn(2).setCellRenderer(new DefaultTableCellRenderer() {
+            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
+                    boolean hasFocus, int row, int column) {
+                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
+                String role = value != null ? value.toString() : "";
+                if ("Admin".equals(role)) {
+                    label.setForeground(AppTheme.PRIMARY_COLOR);
+                    label.setText("🔐 " + role);
+                } else {
+                    label.setForeground(AppTheme.TEXT_SECONDARY);
+                    label.setText("👤 " + role);
+                }
+                label.setHorizontalAlignment(JLabel.CENTER);
+                return label;
+            }
+        });
+        table.getColumnModel().getColumn(3).setCellRenderer(new DefaultTableCellRenderer() {
+            public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
+                    boolean hasFocus, int row, int column) {
+                JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
+                String status = value != null ? value.toString() : "Offline";
+                if ("Online".equals(status)) {
+                    label.setForeground(new Color(46, 125, 50));
+                    label.setText("🟢 " + status);
+                } else {
+                    label.setForeground(AppTheme.TEXT_SECONDARY);
+                    label.setText("⚫ " + status);
+                }
+                label.setHorizontalAlignment(JLabel.CENTER);
+                return label;
+            }
+        });
+        for (int column = 4; column <= 5; column++) {
+            String empty = column == 4 ? "Never" : "N/A";
+            table.getColumnModel().getColumn(column).setCellRenderer(new DefaultTableCellRenderer() {
+                public Component getTableCellRendererComponent(JTable t, Object value, boolean isSelected,
+                        boolean hasFocus, int row, int column) {
+                    JLabel label = (JLabel) super.getTableCellRendererComponent(t, value, isSelected, hasFocus, row, column);
+                    String timestamp = value != null ? value.toString() : empty;
+                    if (!empty.equals(timestamp) && !timestamp.isEmpty()) {
+                        label.setText("🕐 " + timestamp);
+                        label.setForeground(AppTheme.TEXT_PRIMARY);
+                    } else {
+                        label.setText(empty);
+                        label.setForeground(AppTheme.TEXT_SECONDARY);
+                    }
+                    label.setHorizontalAlignment(JLabel.LEFT);
+                    return label;
+                }
+            });
+        }
+        int[] widths = {50, 150, 120, 100, 200, 200};
+        for (int column = 0; column < widths.length; column++) {
+            table.getColumnModel().getColumn(column).setPreferredWidth(widths[column]);
+        }
+        for (Object[] user : users) {
+            tableModel.addRow(user.clone());
+        }
+        return table;
+    }
+}
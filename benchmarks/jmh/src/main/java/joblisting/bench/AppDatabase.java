@@ -0,0 +1,94 @@
+package joblisting.bench;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+
+/**
+ * AppDatabase.java - Benchmark View of DatabaseManager
+ *
+ * JMH does not allow benchmarks in the default package, and named packages
+ * cannot import default-package classes, so DatabaseManager is reached
+ * through method handles resolved once per fork.
+ */
+final class AppDatabase {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private final Object manager;
+    private final MethodHandle validateLogin;
+    private final MethodHandle getAllJobs;
+    private final MethodHandle addApplication;
+    private final MethodHandle getUnreadNotificationCount;
+    private final MethodHandle getAllUsersWithSessions;
+    private final MethodHandle deleteAllUsersExceptAdmin;
+    private final MethodHandle close;
+
+    private AppDatabase(Class<?> type, Object manager) throws ReflectiveOperationException {
+        this.manager = manager;
+        validateLogin = find(type, "validateLogin", String.class, String.class, String.class);
+        getAllJobs = find(type, "getAllJobs", List.class);
+        addApplication = find(type, "addApplication", Class.forName("ApplicationReceipt"),
+            String.class, int.class, String.class, String.class, String.class, String.class);
+        getUnreadNotificationCount = find(type, "getUnreadNotificationCount", int.class, String.class);
+        getAllUsersWithSessions = find(type, "getAllUsersWithSessions", List.class);
+        deleteAllUsersExceptAdmin = find(type, "deleteAllUsersExceptAdmin", int.class);
+        close = find(type, "close", void.class);
+    }
+
+    /**
+     * Opens the application database at the given JDBC URL. DatabaseManager
+     * reads its URL once, so this works once per JVM (JMH forks per trial).
+     */
+    static AppDatabase open(String url) throws Exception {
+        System.setProperty("joblisting.db.url", url);
+        System.setProperty("joblisting.ratelimit.enabled", "false");
+        Class<?> type = Class.forName("DatabaseManager");
+        Object manager = type.getMethod("getInstance").invoke(null);
+        return new AppDatabase(type, manager);
+    }
+
+    /**
+     * Hashes a password the same way DatabaseManager.addUser does.
+     */
+    static String hashPassword(String password) throws Exception {
+        Class<?> type = Class.forName("PasswordHasher");
+        Object hasher = type.getMethod("getInstance").invoke(null);
+        return (String) type.getMethod("hash", String.class).invoke(hasher, password);
+    }
+
+    String validateLogin(String username, String password) throws Throwable {
+        return (String) validateLogin.invoke(username, password);
+    }
+
+    List<?> getAllJobs() throws Throwable {
+        return (List<?>) getAllJobs.invoke();
+    }
+
+    Object addApplication(String username, int jobId, String name,
+                          String email, String phone, String coverLetter) throws Throwable {
+        return addApplication.invoke(username, jobId, name, email, phone, coverLetter);
+    }
+
+    int getUnreadNotificationCount(String username) throws Throwable {
+        return (int) getUnreadNotificationCount.invoke(username);
+    }
+
+    List<?> getAllUsersWithSessions() throws Throwable {
+        return (List<?>) getAllUsersWithSessions.invoke();
+    }
+
+    int deleteAllUsersExceptAdmin() throws Throwable {
+        return (int) deleteAllUsersExceptAdmin.invoke();
+    }
+
+    void close() throws Throwable {
+        close.invoke();
+    }
+
+    private MethodHandle find(Class<?> type, String name, Class<?> returnType, Class<?>... params)
+            throws ReflectiveOperationException {
+        return LOOKUP.findVirtual(type, name, MethodType.methodType(returnType, params)).bindTo(manager);
+    }
+}
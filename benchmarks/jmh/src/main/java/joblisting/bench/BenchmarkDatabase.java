@@ -0,0 +1,104 @@
+package joblisting.bench;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * BenchmarkDatabase.java - Seeded H2 Database for Benchmarks
+ *
+ * Creates a fresh H2 file database under ./bench/jmh, lets DatabaseManager
+ * create its schema, then bulk-seeds users, sessions, jobs, applications and
+ * notifications with set-based INSERT ... SELECT statements.
+ * Every seeded user has the password {@link #PASSWORD}.
+ */
+final class BenchmarkDatabase {
+
+    static final String PASSWORD = "bench-password";
+    static final String DIR = "./bench/jmh";
+
+    private BenchmarkDatabase() { }
+
+    /**
+     * Opens a fresh database named after the scale and seeds it.
+     */
+    static AppDatabase create(int rows) throws Exception {
+        String name = "scale_" + rows;
+        new File(DIR).mkdirs();
+        new File(DIR, name + ".mv.db").delete();
+        new File(DIR, name + ".trace.db").delete();
+        String url = "jdbc:h2:" + DIR + "/" + name;
+
+        AppDatabase db = AppDatabase.open(url);
+        try (Connection conn = DriverManager.getConnection(url, "sa", "")) {
+            seed(conn, rows);
+        }
+        return db;
+    }
+
+    /**
+     * Number of seeded users for a scale; every user gets rows / users
+     * applications and notifications on average.
+     */
+    static int users(int rows) {
+        return Math.max(10, rows / 10);
+    }
+
+    static String username(int i) {
+        return "user" + i;
+    }
+
+    static void seed(Connection conn, int rows) throws Exception {
+        String hashed = AppDatabase.hashPassword(PASSWORD);
+        seedUsers(conn, users(rows), hashed);
+        conn.setAutoCommit(false);
+        try {
+            execute(conn, "INSERT INTO jobs (title, company, location, salary, description) " +
+                "SELECT 'Job ' || X, 'Company ' || MOD(X, 500), 'City ' || MOD(X, 50), '50000', " +
+                "'Description for job ' || X FROM SYSTEM_RANGE(1, ?)", rows);
+            execute(conn, "INSERT INTO applications (username, job_id, job_title, company, applicant_name, email, status) " +
+                "SELECT 'user' || MOD(X, ?), X, 'Job ' || X, 'Company ' || MOD(X, 500), 'Applicant ' || X, " +
+                "'user' || X || '@example.com', 'Pending' FROM SYSTEM_RANGE(1, ?)", users(rows), rows);
+            execute(conn, "INSERT INTO notifications (username, job_id, job_title, message, status, is_read) " +
+                "SELECT 'user' || MOD(X, ?), X, 'Job ' || X, 'Your application was received.', 'Pending', MOD(X, 2) " +
+                "FROM SYSTEM_RANGE(1, ?)", users(rows), rows);
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Inserts users 0..count-1, each with one closed session.
+     */
+    static void seedUsers(Connection conn, int count, String hashedPassword) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO users (username, password, email, role) " +
+                    "SELECT 'user' || (X - 1), ?, 'user' || (X - 1) || '@example.com', 'Customer' " +
+                    "FROM SYSTEM_RANGE(1, ?)")) {
+                ps.setString(1, hashedPassword);
+                ps.setInt(2, count);
+                ps.executeUpdate();
+            }
+            execute(conn, "INSERT INTO user_sessions (username, login_time, logout_time, is_active) " +
+                "SELECT 'user' || (X - 1), DATEADD('HOUR', -2, CURRENT_TIMESTAMP), " +
+                "DATEADD('HOUR', -1, CURRENT_TIMESTAMP), 0 FROM SYSTEM_RANGE(1, ?)", count);
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void execute(Connection conn, String sql, int... params) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                ps.setInt(i + 1, params[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+}
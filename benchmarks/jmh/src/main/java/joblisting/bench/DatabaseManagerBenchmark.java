@@ -0,0 +1,89 @@
+package joblisting.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DatabaseManagerBenchmark.java - Persistence Hot Path Benchmarks
+ *
+ * Read and write paths of DatabaseManager against a local H2 file database
+ * seeded with {@code rows} jobs, applications and notifications
+ * (and rows / 10 users). Reports throughput and sampled latency
+ * percentiles; allocation rate comes from the GC profiler that
+ * JobListingBenchmarks enables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+@Fork(1) // DatabaseManager is a per-JVM singleton: one database per fork
+public class DatabaseManagerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private AppDatabase db;
+    private int users;
+    private int next;
+    private int applied;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        users = BenchmarkDatabase.users(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        db.close();
+    }
+
+    private String nextUser() {
+        next = (next + 1) % users;
+        return BenchmarkDatabase.username(next);
+    }
+
+    @Benchmark
+    public String validateLogin() throws Throwable {
+        return db.validateLogin(nextUser(), BenchmarkDatabase.PASSWORD);
+    }
+
+    @Benchmark
+    public List<?> getAllJobs() throws Throwable {
+        return db.getAllJobs();
+    }
+
+    @Benchmark
+    public Object addApplication() throws Throwable {
+        String user = nextUser();
+        // Jobs are seeded with ids 1..rows; each pass over the users moves on to the
+        // next job, so every call is a new application rather than a duplicate
+        int jobId = (next + applied++ / users) % rows + 1;
+        return db.addApplication(user, jobId,
+            "Applicant " + next, user + "@example.com", "555-0100", "Benchmark cover letter.");
+    }
+
+    @Benchmark
+    public int getUnreadNotificationCount() throws Throwable {
+        return db.getUnreadNotificationCount(nextUser());
+    }
+
+    @Benchmark
+    public List<?> getAllUsersWithSessions() throws Throwable {
+        return db.getAllUsersWithSessions();
+    }
+}
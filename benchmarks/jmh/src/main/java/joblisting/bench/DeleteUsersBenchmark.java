@@ -0,0 +1,69 @@
+package joblisting.bench;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * DeleteUsersBenchmark.java - Bulk User Deletion Benchmark
+ *
+ * deleteAllUsersExceptAdmin empties the users table, so every measured call
+ * gets a freshly re-seeded set of users (setup time is not measured).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DeleteUsersBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private AppDatabase db;
+    private Connection seedConnection;
+    private String hashedPassword;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        seedConnection = DriverManager.getConnection(
+            System.getProperty("joblisting.db.url"), "sa", "");
+        hashedPassword = AppDatabase.hashPassword(BenchmarkDatabase.PASSWORD);
+    }
+
+    @Setup(Level.Invocation)
+    public void reseedUsers() throws Exception {
+        try (Statement stmt = seedConnection.createStatement()) {
+            stmt.execute("DELETE FROM user_sessions");
+            stmt.execute("DELETE FROM users WHERE LOWER(username) != 'admin'");
+        }
+        BenchmarkDatabase.seedUsers(seedConnection, BenchmarkDatabase.users(rows), hashedPassword);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Throwable {
+        seedConnection.close();
+        db.close();
+    }
+
+    @Benchmark
+    public int deleteAllUsersExceptAdmin() throws Throwable {
+        return db.deleteAllUsersExceptAdmin();
+    }
+}
@@ -0,0 +1,27 @@
+package joblisting.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JobListingBenchmarks.java - Benchmark Launcher
+ *
+ * Same command line as the standard JMH main, but always attaches the GC
+ * profiler so every run also reports allocation rate (gc.alloc.rate.norm).
+ *
+ * Run: java -jar target/benchmarks.jar [JMH options]
+ */
+public class JobListingBenchmarks {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+            .parent(cmdOptions)
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}